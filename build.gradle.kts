@@ -52,3 +52,22 @@ tasks.jar {
         duplicatesStrategy = DuplicatesStrategy.EXCLUDE
     }
 }
+
+// Record once:  gradle scraperBenchmark -PbenchArgs="record fixtures"
+// Replay:       gradle scraperBenchmark -PbenchArgs="run fixtures 1,4,16 50 20 0.01"
+tasks.register<JavaExec>("scraperBenchmark") {
+    group = "verification"
+    description = "Runs the Scraper load driver against recorded HTTP fixtures"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("org.example.ScraperBenchmark")
+    args = ((project.findProperty("benchArgs") as String?) ?: "run fixtures").split(" ")
+}
+
+// Serve recorded fixtures for manual runs: gradle fixtureServer -PfixtureArgs="serve fixtures 8089 50 20 0.0"
+tasks.register<JavaExec>("fixtureServer") {
+    group = "application"
+    description = "Serves recorded HTTP fixtures on a local port"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("org.example.FixtureServer")
+    args = ((project.findProperty("fixtureArgs") as String?) ?: "serve fixtures").split(" ")
+}
@@ -0,0 +1,85 @@
+package org.example;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Country:
+ * - Immutable snapshot of one restcountries.com entry (name, alternate names, capital, region,
+ *   currencies, languages, flag).
+ * - Built by Scraper.getCountries() and shared read-only by QuestionBank and the quiz UI.
+ */
+public final class Country {
+    private final String name;
+    private final List<String> alternateNames;
+    private final String capital;
+    private final String region;
+    private final String subregion;
+    private final List<String> currencies;
+    private final List<String> languages;
+    private final String flagUrl;
+
+    public Country(String name, List<String> alternateNames, String capital, String region, String subregion,
+                   List<String> currencies, List<String> languages, String flagUrl) {
+        this.name = name;
+        this.alternateNames = Collections.unmodifiableList(alternateNames);
+        this.capital = capital == null ? "" : capital;
+        this.region = region == null ? "" : region;
+        this.subregion = subregion == null ? "" : subregion;
+        this.currencies = Collections.unmodifiableList(currencies);
+        this.languages = Collections.unmodifiableList(languages);
+        this.flagUrl = flagUrl == null ? "" : flagUrl;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return official name and other spellings, e.g. ["French Republic", "FR", "République française"]
+     */
+    public List<String> getAlternateNames() {
+        return alternateNames;
+    }
+
+    /**
+     * @return the single capital city, or "" when the country has none or several
+     */
+    public String getCapital() {
+        return capital;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public String getSubregion() {
+        return subregion;
+    }
+
+    /**
+     * @return currency names, e.g. ["Euro"]
+     */
+    public List<String> getCurrencies() {
+        return currencies;
+    }
+
+    /**
+     * @return language names, e.g. ["French", "German", "Italian", "Romansh"]
+     */
+    public List<String> getLanguages() {
+        return languages;
+    }
+
+    /**
+     * @return PNG flag thumbnail URL, or "" when unknown
+     */
+    public String getFlagUrl() {
+        return flagUrl;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
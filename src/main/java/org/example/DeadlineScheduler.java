@@ -0,0 +1,364 @@
+package org.example;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.LogManager;
+
+/**
+ * DeadlineScheduler:
+ * - Hashed timing wheel for very large numbers of concurrent deadlines (e.g. one countdown per quiz
+ *   session): schedule() and Timeout.cancel() are O(1), and a single worker thread advances the wheel
+ *   one bucket per tick.
+ * - Accuracy is one tick: a deadline fires on the first tick at or after it.
+ * - Expiry callbacks are handed to the Executor given at scheduling time (e.g. SwingUtilities::invokeLater
+ *   for UI code). A direct executor (Runnable::run, CallerRunsPolicy...) runs them on the worker thread
+ *   itself, where a slow callback delays every other deadline, so only use one for trivial callbacks.
+ * - startCountdown() builds per-second countdowns (tick + expiry events) on top of the wheel.
+ */
+public final class DeadlineScheduler implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(DeadlineScheduler.class);
+
+    /** Caps the work done per tick so a burst of schedule() calls cannot stall expiry. */
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private static final int STATE_PENDING = 0;
+    private static final int STATE_CANCELLED = 1;
+    private static final int STATE_EXPIRED = 2;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startNanos;
+    private final Queue<Timeout> pendingAdds = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> pendingCancels = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+
+    private volatile boolean running = true;
+    /** Only touched by the worker thread. */
+    private long tick;
+
+    /**
+     * @param tickDuration  wheel resolution
+     * @param ticksPerWheel bucket count, rounded up to a power of two
+     */
+    public DeadlineScheduler(long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        if (tickDuration <= 0 || ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("tickDuration and ticksPerWheel must be positive");
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        int size = 1;
+        while (size < ticksPerWheel) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::runWorker, "deadline-scheduler");
+        worker.setDaemon(true);
+        worker.start();
+        logger.debug("Deadline scheduler started: tick=" + tickNanos / 1_000_000 + " ms, buckets=" + size);
+    }
+
+    /**
+     * Runs task on executor once delay has elapsed, unless the returned Timeout is cancelled first.
+     * executor.execute() is called from the worker thread and must not block.
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit, Executor executor) {
+        return scheduleAt(System.nanoTime() + unit.toNanos(delay), t -> executor.execute(task));
+    }
+
+    /**
+     * Starts a countdown that reports every second on executor.
+     *
+     * @param seconds  countdown length; the listener sees onTick(seconds - 1) .. onTick(0), then onExpired()
+     * @param executor where listener callbacks run
+     */
+    public Countdown startCountdown(int seconds, Executor executor, CountdownListener listener) {
+        Countdown countdown = new Countdown(seconds, executor, listener);
+        countdown.scheduleNext();
+        return countdown;
+    }
+
+    /**
+     * Stops the worker; pending timeouts never fire.
+     */
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private Timeout scheduleAt(long deadlineNanos, Action action) {
+        if (!running) {
+            throw new IllegalStateException("Deadline scheduler is closed");
+        }
+        Timeout timeout = new Timeout(this, deadlineNanos - startNanos, action);
+        pendingAdds.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Runs on the worker thread when a Timeout expires; must not block.
+     */
+    private interface Action {
+        void expired(Timeout timeout);
+    }
+
+    /**
+     * Timeout:
+     * - Handle for one scheduled deadline.
+     */
+    public static final class Timeout {
+        private final DeadlineScheduler scheduler;
+        private final long deadline;
+        private final Action action;
+        private final AtomicInteger state = new AtomicInteger(STATE_PENDING);
+
+        // Owned by the worker thread.
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(DeadlineScheduler scheduler, long deadline, Action action) {
+            this.scheduler = scheduler;
+            this.deadline = deadline;
+            this.action = action;
+        }
+
+        /**
+         * @return true if this call prevented the deadline from firing
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(STATE_PENDING, STATE_CANCELLED)) {
+                return false;
+            }
+            scheduler.pendingCancels.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == STATE_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == STATE_EXPIRED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(STATE_PENDING, STATE_EXPIRED)) {
+                return;
+            }
+            try {
+                action.expired(this);
+            } catch (Throwable e) {
+                // Keep the worker alive: one failing callback must not stop every other deadline.
+                logger.error("Deadline callback failed: " + e, e);
+            }
+        }
+    }
+
+    /**
+     * Doubly-linked list of timeouts hashed to one wheel slot.
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        Timeout remove(Timeout timeout) {
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            return next;
+        }
+
+        void expire(long deadline) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                    Timeout next = remove(timeout);
+                    timeout.expire();
+                    timeout = next;
+                } else if (timeout.isCancelled()) {
+                    timeout = remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                    timeout = timeout.next;
+                }
+            }
+        }
+    }
+
+    private void runWorker() {
+        while (running) {
+            long deadline = waitForNextTick();
+            if (deadline < 0) {
+                break;
+            }
+            removeCancelled();
+            transferPending();
+            wheel[(int) (tick & mask)].expire(deadline);
+            tick++;
+        }
+        logger.debug("Deadline scheduler stopped");
+    }
+
+    /**
+     * @return the end of the current tick relative to startNanos, or -1 if closed while waiting
+     */
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long sleepNanos = deadline - (System.nanoTime() - startNanos);
+            if (sleepNanos <= 0) {
+                return deadline;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void transferPending() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = pendingAdds.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            // Deadlines already in the past go into the current bucket.
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = pendingCancels.poll()) != null) {
+            // Not yet transferred timeouts have no bucket and are dropped by transferPending().
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * CountdownListener:
+     * - Receives countdown events on the executor passed to startCountdown().
+     */
+    public interface CountdownListener {
+        /**
+         * @param secondsRemaining whole seconds left, counting down to 0
+         */
+        void onTick(int secondsRemaining);
+
+        void onExpired();
+    }
+
+    /**
+     * Countdown:
+     * - A per-second countdown holding exactly one wheel Timeout at a time.
+     * - Ticks are scheduled against absolute deadlines, so they do not drift.
+     * - After cancel() no further events are delivered, even ones already queued on the executor
+     *   (as long as cancel() runs on that executor, as it does for Swing).
+     */
+    public final class Countdown {
+        private final int seconds;
+        private final Executor executor;
+        private final CountdownListener listener;
+        private final long startedAt = System.nanoTime();
+        private volatile boolean cancelled;
+        private volatile Timeout current;
+        private int elapsed;
+
+        private Countdown(int seconds, Executor executor, CountdownListener listener) {
+            this.seconds = seconds;
+            this.executor = executor;
+            this.listener = listener;
+        }
+
+        public void cancel() {
+            cancelled = true;
+            Timeout timeout = current;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        private void scheduleNext() {
+            long deadline = startedAt + TimeUnit.SECONDS.toNanos(elapsed + 1);
+            current = scheduleAt(deadline, this::onSecond);
+            if (cancelled) {
+                current.cancel();
+            }
+        }
+
+        /**
+         * Worker thread: publish the event and queue the next second.
+         */
+        private void onSecond(Timeout timeout) {
+            elapsed++;
+            final int remaining = seconds - elapsed;
+            executor.execute(() -> {
+                if (!cancelled) {
+                    listener.onTick(remaining);
+                }
+            });
+            if (remaining > 0) {
+                if (running && !cancelled) {
+                    scheduleNext();
+                }
+                return;
+            }
+            executor.execute(() -> {
+                if (!cancelled) {
+                    listener.onExpired();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package org.example;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.LogManager;
+
+/**
+ * FixtureServer:
+ * - Local HTTP stub that replays responses from a FixtureStore, so Scraper can be tested and
+ *   benchmarked without hitting restcountries.com or Wikipedia.
+ * - Upstreams are mounted under path prefixes: /restcountries → https://restcountries.com and
+ *   /wikipedia → https://en.wikipedia.org, i.e. point Scraper at getRestCountriesUrl()/getWikipediaUrl().
+ * - In record mode a missing response is fetched from the live upstream once and stored; only
+ *   2xx and 404 answers are kept, transient failures (429, 5xx...) are passed through as misses
+ *   so a later record run fills them in.
+ * - Configurable latency (base + uniform jitter) and error injection (503 with a given probability).
+ * - main(): "serve <fixture dir> [port] [latencyMs] [jitterMs] [errorRate]" runs a standalone server.
+ */
+public final class FixtureServer implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(FixtureServer.class);
+
+    public static final String REST_COUNTRIES_PREFIX = "/restcountries";
+    public static final String WIKIPEDIA_PREFIX = "/wikipedia";
+
+    private final FixtureStore store;
+    private final boolean recording;
+    private final Map<String, String> upstreams = new LinkedHashMap<>();
+
+    private volatile int latencyMillis;
+    private volatile int jitterMillis;
+    private volatile double errorRate;
+
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * @param recording if true, requests missing from the store are fetched live and recorded
+     */
+    public FixtureServer(FixtureStore store, boolean recording) {
+        this.store = store;
+        this.recording = recording;
+        upstreams.put(REST_COUNTRIES_PREFIX, Scraper.DEFAULT_REST_COUNTRIES_URL);
+        upstreams.put(WIKIPEDIA_PREFIX, Scraper.DEFAULT_WIKIPEDIA_URL);
+    }
+
+    /**
+     * Delays every response by latencyMillis plus a uniformly random 0..jitterMillis.
+     */
+    public void setLatency(int latencyMillis, int jitterMillis) {
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+    }
+
+    /**
+     * @param errorRate probability (0..1) of answering a request with 503 instead of the fixture
+     */
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    /**
+     * Starts listening on localhost.
+     *
+     * @param port 0 picks a free port
+     */
+    public void start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 256);
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "fixture-server");
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        logger.info("Fixture server listening on " + getBaseUrl() + (recording ? " (recording)" : ""));
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            logger.info("Fixture server stopped: served=" + served + ", recorded=" + recorded
+                    + ", misses=" + misses + ", injected errors=" + injectedErrors);
+        }
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public String getRestCountriesUrl() {
+        return getBaseUrl() + REST_COUNTRIES_PREFIX;
+    }
+
+    public String getWikipediaUrl() {
+        return getBaseUrl() + WIKIPEDIA_PREFIX;
+    }
+
+    /**
+     * @return a Scraper whose requests all go to this server
+     */
+    public Scraper newScraper() {
+        return new Scraper(getRestCountriesUrl(), getWikipediaUrl());
+    }
+
+    public long getServedCount() {
+        return served.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getInjectedErrorCount() {
+        return injectedErrors.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String key = exchange.getRequestURI().getRawPath();
+            if (exchange.getRequestURI().getRawQuery() != null) {
+                key += "?" + exchange.getRequestURI().getRawQuery();
+            }
+            delay();
+
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injectedErrors.incrementAndGet();
+                send(exchange, new FixtureStore.Response(503, "text/plain", "Injected error".getBytes("UTF-8")));
+                return;
+            }
+
+            FixtureStore.Response response = store.get(key);
+            if (response == null && recording) {
+                response = fetchUpstream(key, exchange.getRequestHeaders().getFirst("User-Agent"));
+                if (response != null && !isRecordable(response.getStatus())) {
+                    misses.incrementAndGet();
+                    logger.warn("Not recording " + key + ": upstream answered " + response.getStatus());
+                    send(exchange, response);
+                    return;
+                }
+                if (response != null) {
+                    store.put(key, response);
+                    recorded.incrementAndGet();
+                }
+            }
+            if (response == null) {
+                misses.incrementAndGet();
+                logger.warn("No fixture for: " + key);
+                send(exchange, new FixtureStore.Response(404, "text/plain", ("No fixture for " + key).getBytes("UTF-8")));
+                return;
+            }
+            served.incrementAndGet();
+            send(exchange, response);
+        } catch (IOException e) {
+            logger.error("Fixture server failed to answer: " + e.getMessage());
+            throw e;
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * @return true for answers that are stable enough to replay: success, or a page that does not exist
+     */
+    private static boolean isRecordable(int status) {
+        return (status >= 200 && status < 300) || status == 404;
+    }
+
+    private void delay() {
+        int millis = latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextInt(jitterMillis + 1) : 0);
+        if (millis > 0) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void send(HttpExchange exchange, FixtureStore.Response response) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", response.getContentType());
+        byte[] body = response.getBody();
+        exchange.sendResponseHeaders(response.getStatus(), body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * @return the live response for key, or null if the key has no upstream
+     */
+    private FixtureStore.Response fetchUpstream(String key, String userAgent) throws IOException {
+        for (Map.Entry<String, String> upstream : upstreams.entrySet()) {
+            if (!key.startsWith(upstream.getKey() + "/")) {
+                continue;
+            }
+            URL url = new URL(upstream.getValue() + key.substring(upstream.getKey().length()));
+            logger.debug("Recording from upstream: " + url);
+            HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+            conn.setRequestProperty("User-Agent", userAgent != null ? userAgent : "Mozilla/5.0");
+            conn.setConnectTimeout(12_000);
+            conn.setReadTimeout(12_000);
+            int status = conn.getResponseCode();
+            InputStream in = status >= 400 ? conn.getErrorStream() : conn.getInputStream();
+            byte[] body = in == null ? new byte[0] : readAll(in);
+            String contentType = conn.getContentType() != null ? conn.getContentType() : "application/octet-stream";
+            conn.disconnect();
+            return new FixtureStore.Response(status, contentType, body);
+        }
+        return null;
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        try (InputStream input = in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[16 * 1024];
+            int n;
+            while ((n = input.read(buf)) != -1) {
+                out.write(buf, 0, n);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2 || !"serve".equals(args[0])) {
+            System.err.println("Usage: FixtureServer serve <fixture dir> [port] [latencyMs] [jitterMs] [errorRate]");
+            System.exit(2);
+        }
+        FixtureServer server = new FixtureServer(new FixtureStore(Paths.get(args[1])), false);
+        server.setLatency(args.length > 3 ? Integer.parseInt(args[3]) : 0, args.length > 4 ? Integer.parseInt(args[4]) : 0);
+        server.setErrorRate(args.length > 5 ? Double.parseDouble(args[5]) : 0);
+        server.start(args.length > 2 ? Integer.parseInt(args[2]) : 8089);
+        System.out.println("Serving fixtures on " + server.getBaseUrl() + ", run the game with:");
+        System.out.println("  -Dscraper.restCountriesUrl=" + server.getRestCountriesUrl()
+                + " -Dscraper.wikipediaUrl=" + server.getWikipediaUrl());
+        Thread.currentThread().join();
+    }
+}
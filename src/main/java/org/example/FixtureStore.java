@@ -0,0 +1,122 @@
+package org.example;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Properties;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.LogManager;
+
+/**
+ * FixtureStore:
+ * - Directory of recorded HTTP responses used by FixtureServer.
+ * - Each response body is kept in its own file named by the SHA-1 of the request key (path + query);
+ *   status, content type and file name are listed in index.properties.
+ * - get() is safe to call concurrently; put() rewrites the index after every new response,
+ *   so an interrupted recording keeps everything captured so far.
+ */
+public final class FixtureStore {
+    private static final Logger logger = LogManager.getLogger(FixtureStore.class);
+
+    private static final String INDEX_FILE = "index.properties";
+
+    private final Path dir;
+    private final Properties index = new Properties();
+
+    /**
+     * Response:
+     * - One recorded HTTP response.
+     */
+    public static final class Response {
+        private final int status;
+        private final String contentType;
+        private final byte[] body;
+
+        public Response(int status, String contentType, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+
+    /**
+     * Opens (or creates) the store in the given directory.
+     */
+    public FixtureStore(Path dir) throws IOException {
+        this.dir = dir;
+        Files.createDirectories(dir);
+        File indexFile = dir.resolve(INDEX_FILE).toFile();
+        if (indexFile.isFile()) {
+            try (InputStream in = new FileInputStream(indexFile)) {
+                index.load(in);
+            }
+        }
+        logger.info("Fixture store opened: " + dir + ", " + size() + " responses");
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * @param key request path and query, e.g. "/wikipedia/wiki/France"
+     * @return the recorded response, or null if none was recorded
+     */
+    public Response get(String key) throws IOException {
+        String entry;
+        synchronized (this) {
+            entry = index.getProperty(key);
+        }
+        if (entry == null) {
+            return null;
+        }
+        // status,file,content type (the content type may itself contain commas)
+        String[] parts = entry.split(",", 3);
+        byte[] body = Files.readAllBytes(dir.resolve(parts[1]));
+        return new Response(Integer.parseInt(parts[0]), parts[2], body);
+    }
+
+    public synchronized void put(String key, Response response) throws IOException {
+        String file = sha1(key) + ".body";
+        Files.write(dir.resolve(file), response.getBody());
+        index.setProperty(key, response.getStatus() + "," + file + "," + response.getContentType());
+        try (OutputStream out = new FileOutputStream(dir.resolve(INDEX_FILE).toFile())) {
+            index.store(out, "Recorded responses: key=status,file,content type");
+        }
+        logger.debug("Fixture recorded: " + key + " → " + file);
+    }
+
+    private static String sha1(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 not available", e);
+        }
+    }
+}
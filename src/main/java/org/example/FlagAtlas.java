@@ -0,0 +1,462 @@
+package org.example;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.LogManager;
+
+/**
+ * FlagAtlas:
+ * - Packs every country's flag thumbnail into a few large page images (CELL_WIDTH x CELL_HEIGHT cells,
+ *   COLUMNS x ROWS_PER_PAGE per page) plus an offset index, so flags can be drawn without downloads.
+ * - loadOrBuild(): reads the atlas from the disk cache, or downloads the flags in parallel, packs them
+ *   and writes page-N.png + index.properties to the cache. Later starts only download flags that are
+ *   new, changed their URL, or failed more than a day ago, then repack them with the cached ones.
+ * - getIcon(): returns a tiny Icon that blits its sub-rectangle straight from the shared page,
+ *   so showing any number of flags costs no extra image memory.
+ */
+public final class FlagAtlas {
+    private static final Logger logger = LogManager.getLogger(FlagAtlas.class);
+
+    public static final int CELL_WIDTH = 120;
+    public static final int CELL_HEIGHT = 80;
+    private static final int COLUMNS = 16;
+    private static final int ROWS_PER_PAGE = 16;
+    private static final int CELLS_PER_PAGE = COLUMNS * ROWS_PER_PAGE;
+    private static final int DOWNLOAD_THREADS = 8;
+
+    private static final String INDEX_FILE = "index.properties";
+    private static final String URL_KEY_PREFIX = "url.";
+    /** failed.name → when the flag last failed to download, in epoch milliseconds. */
+    private static final String FAILED_KEY_PREFIX = "failed.";
+    private static final long RETRY_AFTER_MILLIS = TimeUnit.DAYS.toMillis(1);
+    private static final String MISSING = "-";
+
+    private final BufferedImage[] pages;
+    /** Country name → {page, x, y, width, height} inside the page. */
+    private final Map<String, int[]> cells;
+
+    private FlagAtlas(BufferedImage[] pages, Map<String, int[]> cells) {
+        this.pages = pages;
+        this.cells = cells;
+    }
+
+    /**
+     * @return the default cache directory, ~/.capital-country-quiz/flag-atlas
+     */
+    public static Path defaultCacheDir() {
+        return Paths.get(System.getProperty("user.home"), ".capital-country-quiz", "flag-atlas");
+    }
+
+    /**
+     * Loads the cached atlas and downloads only the flags it lacks: new countries, changed URLs, and
+     * failed downloads whose retry delay has passed. A missing or corrupt cache is rebuilt in full.
+     *
+     * @throws IOException if the atlas can neither be loaded nor built, or contains no flag at all
+     */
+    public static FlagAtlas loadOrBuild(List<Country> countries, Path cacheDir) throws IOException {
+        return loadOrBuild(countries, cacheDir, System.currentTimeMillis());
+    }
+
+    /**
+     * @param now current time in epoch milliseconds, compared with the recorded download failures
+     */
+    static FlagAtlas loadOrBuild(List<Country> countries, Path cacheDir, long now) throws IOException {
+        Properties index = readIndex(cacheDir);
+        FlagAtlas cached = null;
+        if (index != null) {
+            try {
+                cached = load(index, cacheDir);
+            } catch (IOException e) {
+                logger.warn("Flag atlas cache unreadable, rebuilding: " + e.getMessage());
+                index = null;
+            }
+        }
+
+        List<Country> stale = new ArrayList<>();
+        for (Country country : countries) {
+            if (!country.getFlagUrl().isEmpty() && needsDownload(index, cached, country, now)) {
+                stale.add(country);
+            }
+        }
+        FlagAtlas atlas;
+        if (cached != null && stale.isEmpty()) {
+            atlas = cached;
+            logger.info("Flag atlas loaded from cache: " + atlas.size() + " flags, "
+                    + atlas.pages.length + " page(s)");
+        } else {
+            atlas = build(countries, stale, cached, index, cacheDir, now);
+        }
+        if (atlas.size() == 0) {
+            throw new IOException("No flag could be loaded");
+        }
+        return atlas;
+    }
+
+    public boolean contains(String countryName) {
+        return cells.containsKey(countryName);
+    }
+
+    public int size() {
+        return cells.size();
+    }
+
+    /**
+     * @return approximate heap used by the page images, in bytes
+     */
+    public long memoryBytes() {
+        long bytes = 0;
+        for (BufferedImage page : pages) {
+            bytes += 4L * page.getWidth() * page.getHeight();
+        }
+        return bytes;
+    }
+
+    /**
+     * @param height icon height in pixels; the width follows the flag's aspect ratio
+     * @return an Icon drawing the country's flag from the atlas, or null if it is not in the atlas
+     */
+    public Icon getIcon(String countryName, int height) {
+        int[] cell = cells.get(countryName);
+        if (cell == null) {
+            return null;
+        }
+        int width = Math.max(1, Math.round(cell[3] * (float) height / cell[4]));
+        return new FlagIcon(pages[cell[0]], cell[1], cell[2], cell[3], cell[4], width, height);
+    }
+
+    /**
+     * Draws one atlas cell, scaled to the requested size, by sub-image blitting.
+     */
+    private static final class FlagIcon implements Icon {
+        private final BufferedImage page;
+        private final int sx;
+        private final int sy;
+        private final int sw;
+        private final int sh;
+        private final int width;
+        private final int height;
+
+        FlagIcon(BufferedImage page, int sx, int sy, int sw, int sh, int width, int height) {
+            this.page = page;
+            this.sx = sx;
+            this.sy = sy;
+            this.sw = sw;
+            this.sh = sh;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public void paintIcon(Component c, Graphics g, int x, int y) {
+            if (width == sw && height == sh) {
+                g.drawImage(page, x, y, x + width, y + height, sx, sy, sx + sw, sy + sh, null);
+                return;
+            }
+            Graphics2D g2 = (Graphics2D) g.create();
+            try {
+                g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g2.drawImage(page, x, y, x + width, y + height, sx, sy, sx + sw, sy + sh, null);
+            } finally {
+                g2.dispose();
+            }
+        }
+
+        @Override
+        public int getIconWidth() {
+            return width;
+        }
+
+        @Override
+        public int getIconHeight() {
+            return height;
+        }
+    }
+
+    /**
+     * @return true if the country's flag is not usable from the cache and is due for a download
+     */
+    private static boolean needsDownload(Properties index, FlagAtlas cached, Country country, long now) {
+        String name = country.getName();
+        if (cached == null || !country.getFlagUrl().equals(index.getProperty(URL_KEY_PREFIX + name, ""))) {
+            return true;
+        }
+        if (cached.contains(name)) {
+            return false;
+        }
+        // Failed last time: wait before retrying, so one dead URL does not cost a repack per start.
+        return now - failedAt(index, name) >= RETRY_AFTER_MILLIS;
+    }
+
+    /**
+     * @return when the flag last failed to download, or 0 if unknown
+     */
+    private static long failedAt(Properties index, String name) {
+        try {
+            return Long.parseLong(index.getProperty(FAILED_KEY_PREFIX + name, "0"));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static Properties readIndex(Path cacheDir) {
+        File file = cacheDir.resolve(INDEX_FILE).toFile();
+        if (!file.isFile()) {
+            return null;
+        }
+        Properties index = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            index.load(in);
+            return index;
+        } catch (IOException e) {
+            logger.warn("Could not read flag atlas index: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static FlagAtlas load(Properties index, Path cacheDir) throws IOException {
+        try {
+            return parse(index, cacheDir);
+        } catch (RuntimeException e) {
+            // Malformed numbers, short cell entries, negative sizes...
+            throw new IOException("Corrupt flag atlas index: " + e, e);
+        }
+    }
+
+    private static FlagAtlas parse(Properties index, Path cacheDir) throws IOException {
+        int pageCount = Integer.parseInt(index.getProperty("pages", "0"));
+        BufferedImage[] pages = new BufferedImage[pageCount];
+        for (int p = 0; p < pageCount; p++) {
+            BufferedImage page = ImageIO.read(cacheDir.resolve("page-" + p + ".png").toFile());
+            if (page == null) {
+                throw new IOException("Unreadable atlas page " + p);
+            }
+            pages[p] = toCompatible(page);
+        }
+
+        Map<String, int[]> cells = new HashMap<>();
+        for (String key : index.stringPropertyNames()) {
+            if (!key.startsWith(URL_KEY_PREFIX)) {
+                continue;
+            }
+            String name = key.substring(URL_KEY_PREFIX.length());
+            String value = index.getProperty(name, MISSING);
+            if (MISSING.equals(value)) {
+                continue;
+            }
+            String[] parts = value.split(",");
+            int[] cell = new int[5];
+            for (int i = 0; i < cell.length; i++) {
+                cell[i] = Integer.parseInt(parts[i]);
+            }
+            if (cell[0] < 0 || cell[0] >= pageCount) {
+                throw new IOException("Atlas index refers to missing page " + cell[0]);
+            }
+            BufferedImage page = pages[cell[0]];
+            if (cell[1] < 0 || cell[2] < 0 || cell[3] <= 0 || cell[4] <= 0
+                    || cell[1] + cell[3] > page.getWidth() || cell[2] + cell[4] > page.getHeight()) {
+                throw new IOException("Atlas cell outside its page: " + name);
+            }
+            cells.put(name, cell);
+        }
+        return new FlagAtlas(pages, cells);
+    }
+
+    /**
+     * Downloads the stale flags, packs them together with the flags still valid in cached (may be null)
+     * and saves the result.
+     */
+    private static FlagAtlas build(List<Country> countries, List<Country> stale, FlagAtlas cached,
+                                   Properties index, Path cacheDir, long now) throws IOException {
+        long start = System.nanoTime();
+        logger.info("Building flag atlas: downloading " + stale.size() + " of " + countries.size() + " flags");
+
+        ExecutorService pool = Executors.newFixedThreadPool(DOWNLOAD_THREADS);
+        Map<Country, Future<Image>> downloads = new LinkedHashMap<>();
+        try {
+            for (Country country : stale) {
+                downloads.put(country, pool.submit(() -> downloadThumbnail(country)));
+            }
+
+            Set<Country> staleSet = new HashSet<>(stale);
+            List<Country> packed = new ArrayList<>();
+            List<Image> thumbnails = new ArrayList<>();
+            Map<String, Long> failures = new HashMap<>();
+            for (Country country : countries) {
+                String name = country.getName();
+                Image thumbnail = null;
+                if (staleSet.contains(country)) {
+                    try {
+                        thumbnail = downloads.get(country).get();
+                    } catch (ExecutionException ex) {
+                        logger.error("Failed to download flag: " + name + " → " + ex.getCause().getMessage());
+                    }
+                    if (thumbnail == null) {
+                        failures.put(name, now);
+                    }
+                } else if (cached != null && cached.contains(name)) {
+                    thumbnail = cached.getThumbnail(name);
+                } else if (index != null && !country.getFlagUrl().isEmpty()) {
+                    // Failed recently and not retried yet: keep the original failure time.
+                    failures.put(name, failedAt(index, name));
+                }
+                if (thumbnail != null) {
+                    packed.add(country);
+                    thumbnails.add(thumbnail);
+                }
+            }
+            FlagAtlas atlas = pack(packed, thumbnails);
+            save(atlas, countries, failures, cacheDir);
+            logger.info("Flag atlas built: " + atlas.size() + " flags, " + atlas.pages.length + " page(s), "
+                    + atlas.memoryBytes() / 1024 + " KiB in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+            return atlas;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while building flag atlas", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * @return the country's cell as a view into its page, for repacking
+     */
+    private Image getThumbnail(String countryName) {
+        int[] cell = cells.get(countryName);
+        return pages[cell[0]].getSubimage(cell[1], cell[2], cell[3], cell[4]);
+    }
+
+    /**
+     * Downloads one flag and scales it to fit a single cell.
+     */
+    private static Image downloadThumbnail(Country country) throws IOException {
+        URLConnection conn = new URL(country.getFlagUrl()).openConnection();
+        conn.setRequestProperty("User-Agent", "Mozilla/5.0");
+        conn.setConnectTimeout(12_000);
+        conn.setReadTimeout(12_000);
+        BufferedImage original;
+        try (InputStream in = conn.getInputStream()) {
+            original = ImageIO.read(in);
+        }
+        if (original == null) {
+            logger.warn("Flag is not a readable image: " + country.getName());
+            return null;
+        }
+        double scale = Math.min((double) CELL_WIDTH / original.getWidth(),
+                (double) CELL_HEIGHT / original.getHeight());
+        int w = Math.max(1, (int) Math.round(original.getWidth() * scale));
+        int h = Math.max(1, (int) Math.round(original.getHeight() * scale));
+        // ImageIcon waits for the asynchronous scaling to finish.
+        return new ImageIcon(original.getScaledInstance(w, h, Image.SCALE_SMOOTH)).getImage();
+    }
+
+    private static FlagAtlas pack(List<Country> countries, List<Image> thumbnails) {
+        int pageCount = (countries.size() + CELLS_PER_PAGE - 1) / CELLS_PER_PAGE;
+        BufferedImage[] pages = new BufferedImage[pageCount];
+        Map<String, int[]> cells = new HashMap<>();
+        Graphics2D g = null;
+        for (int i = 0; i < countries.size(); i++) {
+            int p = i / CELLS_PER_PAGE;
+            int slot = i % CELLS_PER_PAGE;
+            if (slot == 0) {
+                if (g != null) {
+                    g.dispose();
+                }
+                int rows = Math.min(ROWS_PER_PAGE, (countries.size() - i + COLUMNS - 1) / COLUMNS);
+                pages[p] = new BufferedImage(COLUMNS * CELL_WIDTH, rows * CELL_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+                g = pages[p].createGraphics();
+            }
+            Image thumbnail = thumbnails.get(i);
+            int x = (slot % COLUMNS) * CELL_WIDTH;
+            int y = (slot / COLUMNS) * CELL_HEIGHT;
+            g.drawImage(thumbnail, x, y, null);
+            cells.put(countries.get(i).getName(),
+                    new int[]{p, x, y, thumbnail.getWidth(null), thumbnail.getHeight(null)});
+        }
+        if (g != null) {
+            g.dispose();
+        }
+        for (int p = 0; p < pageCount; p++) {
+            pages[p] = toCompatible(pages[p]);
+        }
+        return new FlagAtlas(pages, cells);
+    }
+
+    /**
+     * Writes the pages first and the index last, so an interrupted save is simply rebuilt next time.
+     */
+    private static void save(FlagAtlas atlas, List<Country> countries, Map<String, Long> failures, Path cacheDir) {
+        try {
+            Files.createDirectories(cacheDir);
+            Files.deleteIfExists(cacheDir.resolve(INDEX_FILE));
+            for (int p = 0; p < atlas.pages.length; p++) {
+                ImageIO.write(atlas.pages[p], "png", cacheDir.resolve("page-" + p + ".png").toFile());
+            }
+
+            Properties index = new Properties();
+            index.setProperty("pages", String.valueOf(atlas.pages.length));
+            for (Country country : countries) {
+                int[] cell = atlas.cells.get(country.getName());
+                index.setProperty(URL_KEY_PREFIX + country.getName(), country.getFlagUrl());
+                index.setProperty(country.getName(), cell == null ? MISSING
+                        : cell[0] + "," + cell[1] + "," + cell[2] + "," + cell[3] + "," + cell[4]);
+                Long failedAt = failures.get(country.getName());
+                if (failedAt != null) {
+                    index.setProperty(FAILED_KEY_PREFIX + country.getName(), String.valueOf(failedAt));
+                }
+            }
+            try (OutputStream out = new FileOutputStream(cacheDir.resolve(INDEX_FILE).toFile())) {
+                index.store(out, "Flag atlas index: name=page,x,y,width,height");
+            }
+            logger.debug("Flag atlas cached in: " + cacheDir);
+        } catch (IOException e) {
+            logger.error("Failed to cache flag atlas: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Copies the page into the screen's native pixel layout so blits can be accelerated.
+     */
+    private static BufferedImage toCompatible(BufferedImage image) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return image;
+        }
+        GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+        if (image.getColorModel().equals(gc.getColorModel(Transparency.TRANSLUCENT))) {
+            return image;
+        }
+        BufferedImage copy = gc.createCompatibleImage(image.getWidth(), image.getHeight(), Transparency.TRANSLUCENT);
+        Graphics2D g = copy.createGraphics();
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+        return copy;
+    }
+}
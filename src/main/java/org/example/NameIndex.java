@@ -0,0 +1,462 @@
+package org.example;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * NameIndex:
+ * - Immutable trie over normalised names (lower case, accents and punctuation folded away), each
+ *   mapping to an integer id (e.g. a country's index in QuestionBank.getCountries()).
+ * - Nodes are stored in preorder in four flat arrays (label, subtree end, terminal offset, ids),
+ *   so every subtree and its names are contiguous ranges and no per-node objects exist.
+ * - Lookups go through a Matcher: prefix suggestions and grading with bounded edit distance
+ *   (Levenshtein plus adjacent transpositions, "frnace" → France), computed row by row while walking
+ *   the trie. A Matcher reuses its buffers and allocates nothing per call; it is not thread-safe,
+ *   so use one per thread (the UI uses one on the EDT).
+ * - A suggestion over the ~250 country names costs a few microseconds (NameIndexTest checks both
+ *   the time and the allocation).
+ */
+public final class NameIndex {
+    /** Queries are truncated to this many normalised characters. */
+    public static final int MAX_QUERY_LENGTH = 64;
+
+    /** Fold table for Latin-1 and Latin Extended-A/B: lower case without diacritics, 0 = separator. */
+    private static final char[] FOLD = buildFoldTable();
+
+    private final String[] displayNames;
+    private final char[] label;
+    private final int[] subtreeEnd;
+    /** termFrom[n] .. termFrom[n + 1] are the ids ending exactly at node n; sentinel at nodeCount. */
+    private final int[] termFrom;
+    private final int[] terminalIds;
+    private final int maxDepth;
+
+    private NameIndex(String[] displayNames, char[] label, int[] subtreeEnd, int[] termFrom,
+                      int[] terminalIds, int maxDepth) {
+        this.displayNames = displayNames;
+        this.label = label;
+        this.subtreeEnd = subtreeEnd;
+        this.termFrom = termFrom;
+        this.terminalIds = terminalIds;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * @param displayNames canonical name per id (index = id), shown as suggestion text; may be null
+     *                     for ids without names
+     * @param alternates   extra spellings per id (index = id); may be shorter than displayNames
+     */
+    public static NameIndex build(List<String> displayNames, List<List<String>> alternates) {
+        List<Key> keys = new ArrayList<>();
+        for (int id = 0; id < displayNames.size(); id++) {
+            addKey(keys, displayNames.get(id), id);
+            if (id < alternates.size()) {
+                for (String alt : alternates.get(id)) {
+                    addKey(keys, alt, id);
+                }
+            }
+        }
+        Collections.sort(keys);
+
+        Builder builder = new Builder(keys.size());
+        builder.build(keys, 0, keys.size(), 0, '\0');
+        return new NameIndex(displayNames.toArray(new String[0]),
+                builder.label, builder.subtreeEnd, builder.finishTermFrom(), builder.terminalIds(),
+                builder.maxDepth);
+    }
+
+    /**
+     * @return the canonical name for id
+     */
+    public String getDisplayName(int id) {
+        return displayNames[id];
+    }
+
+    public int idCount() {
+        return displayNames.length;
+    }
+
+    public Matcher newMatcher() {
+        return new Matcher();
+    }
+
+    /**
+     * Normalises text the same way keys are normalised: "Côte d'Ivoire" → "cote d ivoire".
+     */
+    static String normalize(CharSequence text) {
+        char[] buf = new char[text.length()];
+        int len = normalizeInto(text, buf);
+        return new String(buf, 0, len);
+    }
+
+    private static int normalizeInto(CharSequence text, char[] out) {
+        int len = 0;
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length() && len < out.length; i++) {
+            char c = fold(text.charAt(i));
+            if (c == 0) {
+                pendingSpace = len > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                out[len++] = ' ';
+                pendingSpace = false;
+                if (len == out.length) {
+                    break;
+                }
+            }
+            out[len++] = c;
+        }
+        return len;
+    }
+
+    private static char fold(char c) {
+        if (c < FOLD.length) {
+            return FOLD[c];
+        }
+        return Character.isLetterOrDigit(c) ? Character.toLowerCase(c) : 0;
+    }
+
+    private static char[] buildFoldTable() {
+        char[] table = new char[0x250];
+        for (char c = 0; c < table.length; c++) {
+            String base = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+            char b = base.isEmpty() ? c : base.charAt(0);
+            if (c == 'ß') {
+                b = 's';
+            } else if (c == 'ø' || c == 'Ø') {
+                b = 'o';
+            } else if (c == 'æ' || c == 'Æ') {
+                b = 'a';
+            }
+            table[c] = Character.isLetterOrDigit(b) ? Character.toLowerCase(b) : 0;
+        }
+        return table;
+    }
+
+    private static void addKey(List<Key> keys, String name, int id) {
+        if (name == null) {
+            return;
+        }
+        char[] buf = new char[Math.min(name.length(), MAX_QUERY_LENGTH)];
+        int len = normalizeInto(name, buf);
+        if (len >= 2) {
+            keys.add(new Key(new String(buf, 0, len), id));
+        }
+    }
+
+    private static final class Key implements Comparable<Key> {
+        final String text;
+        final int id;
+
+        Key(String text, int id) {
+            this.text = text;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Key o) {
+            int c = text.compareTo(o.text);
+            return c != 0 ? c : Integer.compare(id, o.id);
+        }
+    }
+
+    /**
+     * Lays the sorted keys out as a preorder trie.
+     */
+    private static final class Builder {
+        char[] label = new char[16];
+        int[] subtreeEnd = new int[16];
+        int[] termFrom = new int[17];
+        final List<Integer> ids = new ArrayList<>();
+        int nodeCount;
+        int maxDepth;
+
+        Builder(int keyCount) {
+            if (keyCount > 16) {
+                label = new char[keyCount * 4];
+                subtreeEnd = new int[keyCount * 4];
+                termFrom = new int[keyCount * 4 + 1];
+            }
+        }
+
+        /**
+         * Creates the node for keys[from, to), which all share their first depth characters.
+         */
+        int build(List<Key> keys, int from, int to, int depth, char c) {
+            int node = nodeCount++;
+            ensureCapacity(nodeCount + 1);
+            label[node] = c;
+            termFrom[node] = ids.size();
+            maxDepth = Math.max(maxDepth, depth);
+
+            int i = from;
+            while (i < to && keys.get(i).text.length() == depth) {
+                int id = keys.get(i).id;
+                if (ids.size() == termFrom[node] || ids.get(ids.size() - 1).intValue() != id) {
+                    ids.add(id);
+                }
+                i++;
+            }
+            while (i < to) {
+                char next = keys.get(i).text.charAt(depth);
+                int j = i;
+                while (j < to && keys.get(j).text.charAt(depth) == next) {
+                    j++;
+                }
+                build(keys, i, j, depth + 1, next);
+                i = j;
+            }
+            subtreeEnd[node] = nodeCount;
+            return node;
+        }
+
+        private void ensureCapacity(int n) {
+            if (n > label.length) {
+                int size = Math.max(n, label.length * 2);
+                label = Arrays.copyOf(label, size);
+                subtreeEnd = Arrays.copyOf(subtreeEnd, size);
+                termFrom = Arrays.copyOf(termFrom, size + 1);
+            }
+        }
+
+        int[] finishTermFrom() {
+            termFrom[nodeCount] = ids.size();
+            label = Arrays.copyOf(label, nodeCount);
+            subtreeEnd = Arrays.copyOf(subtreeEnd, nodeCount);
+            return Arrays.copyOf(termFrom, nodeCount + 1);
+        }
+
+        int[] terminalIds() {
+            int[] result = new int[ids.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = ids.get(i);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Matcher:
+     * - Reusable lookup state for one thread: query buffer, one edit-distance row per trie depth and
+     *   per-id best distances.
+     */
+    public final class Matcher {
+        private final char[] query = new char[MAX_QUERY_LENGTH];
+        private final int[][] rows = new int[maxDepth + 1][MAX_QUERY_LENGTH + 1];
+        private final int[] bestDistance = new int[displayNames.length];
+        private final int[] firstSeen = new int[displayNames.length];
+        private final int[] touched = new int[displayNames.length];
+        private int touchedCount;
+        private int queryLength;
+        private int maxEdits;
+        private boolean prefixMode;
+
+        private Matcher() {
+            Arrays.fill(bestDistance, Integer.MAX_VALUE);
+        }
+
+        /**
+         * Fills out with the ids whose names best complete input (typos within the edit budget allowed),
+         * closest first, then alphabetically.
+         *
+         * @return number of ids written
+         */
+        public int suggest(CharSequence input, int[] out) {
+            if (!prepare(input, true)) {
+                return 0;
+            }
+            search();
+            int count = 0;
+            // Selection of the out.length best: touched is small (bounded by matches), out is tiny.
+            while (count < out.length) {
+                int best = -1;
+                for (int t = 0; t < touchedCount; t++) {
+                    int id = touched[t];
+                    if (bestDistance[id] < 0) {
+                        continue;
+                    }
+                    if (best < 0 || bestDistance[id] < bestDistance[best]
+                            || (bestDistance[id] == bestDistance[best] && firstSeen[id] < firstSeen[best])) {
+                        best = id;
+                    }
+                }
+                if (best < 0) {
+                    break;
+                }
+                out[count++] = best;
+                bestDistance[best] = -1;
+            }
+            reset();
+            return count;
+        }
+
+        /**
+         * Grades a typed answer: accepted if some name of expectedId is within the edit budget of the
+         * whole input and no other id matches strictly closer (so "Niger" is not accepted for Nigeria).
+         *
+         * @return the edit distance of the accepted match (0 = exact), or -1 if the answer is wrong
+         */
+        public int grade(CharSequence input, int expectedId) {
+            if (!prepare(input, false)) {
+                return -1;
+            }
+            search();
+            int expected = bestDistance[expectedId];
+            int result = expected == Integer.MAX_VALUE ? -1 : expected;
+            for (int t = 0; t < touchedCount && result >= 0; t++) {
+                if (bestDistance[touched[t]] < expected) {
+                    result = -1;
+                }
+            }
+            reset();
+            return result;
+        }
+
+        /**
+         * Grades a typed answer that has several right ids (a currency used by many countries, a capital
+         * shared by two): accepted if some accepted id is within the edit budget of the whole input and
+         * no other id matches strictly closer.
+         *
+         * @return the closest accepted id (first alphabetically on ties), or -1 if the answer is wrong
+         */
+        public int gradeAny(CharSequence input, IntPredicate accepted) {
+            if (!prepare(input, false)) {
+                return -1;
+            }
+            search();
+            int best = -1;
+            int closestOther = Integer.MAX_VALUE;
+            for (int t = 0; t < touchedCount; t++) {
+                int id = touched[t];
+                if (!accepted.test(id)) {
+                    closestOther = Math.min(closestOther, bestDistance[id]);
+                } else if (best < 0 || bestDistance[id] < bestDistance[best]
+                        || (bestDistance[id] == bestDistance[best] && firstSeen[id] < firstSeen[best])) {
+                    best = id;
+                }
+            }
+            int result = best >= 0 && bestDistance[best] <= closestOther ? best : -1;
+            reset();
+            return result;
+        }
+
+        /**
+         * @return the id whose name is closest to the whole input, or -1 if none is within the budget
+         */
+        public int lookup(CharSequence input) {
+            if (!prepare(input, false)) {
+                return -1;
+            }
+            search();
+            int best = -1;
+            for (int t = 0; t < touchedCount; t++) {
+                int id = touched[t];
+                if (best < 0 || bestDistance[id] < bestDistance[best]) {
+                    best = id;
+                }
+            }
+            reset();
+            return best;
+        }
+
+        private boolean prepare(CharSequence input, boolean prefix) {
+            queryLength = normalizeInto(input, query);
+            if (queryLength == 0 || label.length == 0) {
+                return false;
+            }
+            prefixMode = prefix;
+            maxEdits = queryLength <= 3 ? 0 : queryLength <= 6 ? 1 : 2;
+            int[] row = rows[0];
+            for (int j = 0; j <= queryLength; j++) {
+                row[j] = j;
+            }
+            return true;
+        }
+
+        private void search() {
+            for (int child = 1; child < subtreeEnd[0]; child = subtreeEnd[child]) {
+                visit(child, 1, '\0');
+            }
+        }
+
+        /**
+         * Computes the optimal string alignment row for node (parentLabel is the character above it)
+         * and recurses while some cell is within the budget. Only the diagonal band
+         * |j - depth| <= maxEdits can be within the budget, so only it is computed; the cells just
+         * outside it are set to maxEdits + 1 for the next row to read.
+         */
+        private void visit(int node, int depth, char parentLabel) {
+            int[] prev = rows[depth - 1];
+            int[] row = rows[depth];
+            char c = label[node];
+            int outside = maxEdits + 1;
+            int from = Math.max(1, depth - maxEdits);
+            int to = Math.min(queryLength, depth + maxEdits);
+            row[0] = depth;
+            row[from - 1] = from == 1 ? depth : outside;
+            int rowMin = from == 1 ? depth : outside;
+            for (int j = from; j <= to; j++) {
+                int cost = query[j - 1] == c ? 0 : 1;
+                int v = Math.min(Math.min(row[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                if (depth >= 2 && j >= 2 && query[j - 1] == parentLabel && query[j - 2] == c) {
+                    // Adjacent transposition counts as one edit.
+                    v = Math.min(v, rows[depth - 2][j - 2] + 1);
+                }
+                row[j] = v;
+                if (v < rowMin) {
+                    rowMin = v;
+                }
+            }
+            if (to < queryLength) {
+                row[Math.max(to, from - 1) + 1] = outside;
+            }
+            int distance = to == queryLength ? row[queryLength] : outside;
+            if (distance <= maxEdits) {
+                if (prefixMode) {
+                    // Every name below this node completes the input.
+                    record(termFrom[node], termFrom[subtreeEnd[node]], distance);
+                    if (distance == rowMin) {
+                        // Row minima never decrease with depth, so no descendant can match closer.
+                        return;
+                    }
+                } else {
+                    record(termFrom[node], termFrom[node + 1], distance);
+                }
+            }
+            if (rowMin > maxEdits || depth == maxDepth) {
+                return;
+            }
+            for (int child = node + 1; child < subtreeEnd[node]; child = subtreeEnd[child]) {
+                visit(child, depth + 1, c);
+            }
+        }
+
+        private void record(int from, int to, int distance) {
+            for (int i = from; i < to; i++) {
+                int id = terminalIds[i];
+                if (bestDistance[id] == Integer.MAX_VALUE) {
+                    firstSeen[id] = i;
+                    touched[touchedCount++] = id;
+                    bestDistance[id] = distance;
+                } else if (distance < bestDistance[id]) {
+                    bestDistance[id] = distance;
+                }
+                if (i < firstSeen[id]) {
+                    firstSeen[id] = i;
+                }
+            }
+        }
+
+        private void reset() {
+            for (int t = 0; t < touchedCount; t++) {
+                bestDistance[touched[t]] = Integer.MAX_VALUE;
+            }
+            touchedCount = 0;
+        }
+    }
+}
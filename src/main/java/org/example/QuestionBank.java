@@ -0,0 +1,408 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.LogManager;
+
+/**
+ * QuestionBank:
+ * - Precomputes every question of every QuestionMode for a country dataset, in parallel (fork/join
+ *   over country index ranges), so a quiz session only has to pick indices.
+ * - Each (mode, country, prompt) yields up to VARIANTS questions that differ only in their distractors;
+ *   distractors are drawn from the same subregion first, then the same region, then anywhere.
+ * - A distractor never shares the prompt with the correct country (no second valid answer) and never
+ *   repeats another option's label.
+ * - Storage is compact: prompt strings are interned once in a table and each question is
+ *   RECORD_SIZE ints (country, prompt id, three distractor countries), grouped by mode.
+ * - Generation is deterministic for a given dataset and seed, regardless of parallelism.
+ */
+public final class QuestionBank {
+    private static final Logger logger = LogManager.getLogger(QuestionBank.class);
+
+    public static final int OPTIONS = 4;
+    private static final int DISTRACTORS = OPTIONS - 1;
+    private static final int VARIANTS = 3;
+    private static final int RECORD_SIZE = 2 + DISTRACTORS;
+    private static final int LEAF_SIZE = 16;
+
+    private static final QuestionMode[] MODES = QuestionMode.values();
+
+    private final Country[] countries;
+    private final String[] promptTable;
+    private final int[] records;
+    /** modeStart[m] .. modeStart[m + 1] is the question index range of MODES[m]. */
+    private final int[] modeStart;
+
+    private QuestionBank(Country[] countries, String[] promptTable, int[] records, int[] modeStart) {
+        this.countries = countries;
+        this.promptTable = promptTable;
+        this.records = records;
+        this.modeStart = modeStart;
+    }
+
+    /**
+     * Generates the bank on the common fork/join pool.
+     */
+    public static QuestionBank generate(List<Country> countries, long seed) {
+        return generate(countries, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Generates the bank on the given pool.
+     *
+     * @param countries dataset, typically Scraper.getCountries()
+     * @param seed      distractor selection seed; the same seed and dataset give the same bank
+     */
+    public static QuestionBank generate(List<Country> countries, long seed, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        Context ctx = new Context(countries.toArray(new Country[0]), seed);
+        List<Chunk> chunks = pool.invoke(new GenerateTask(ctx, 0, ctx.countries.length));
+
+        int[] modeStart = new int[MODES.length + 1];
+        for (int m = 0; m < MODES.length; m++) {
+            int count = 0;
+            for (Chunk chunk : chunks) {
+                count += chunk.size[m];
+            }
+            modeStart[m + 1] = modeStart[m] + count;
+        }
+        int[] records = new int[modeStart[MODES.length] * RECORD_SIZE];
+        for (int m = 0; m < MODES.length; m++) {
+            int pos = modeStart[m] * RECORD_SIZE;
+            for (Chunk chunk : chunks) {
+                int len = chunk.size[m] * RECORD_SIZE;
+                System.arraycopy(chunk.data[m], 0, records, pos, len);
+                pos += len;
+            }
+        }
+
+        QuestionBank bank = new QuestionBank(ctx.countries, ctx.promptTable, records, modeStart);
+        logger.info("Question bank generated: " + bank.size() + " questions, "
+                + ctx.promptTable.length + " prompts, " + countries.size() + " countries in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return bank;
+    }
+
+    public int size() {
+        return modeStart[MODES.length];
+    }
+
+    public int size(QuestionMode mode) {
+        return modeStart[mode.ordinal() + 1] - modeStart[mode.ordinal()];
+    }
+
+    /**
+     * @return the index of the first question of the given mode; its questions are contiguous
+     */
+    public int firstIndex(QuestionMode mode) {
+        return modeStart[mode.ordinal()];
+    }
+
+    public List<Country> getCountries() {
+        return Collections.unmodifiableList(Arrays.asList(countries));
+    }
+
+    /**
+     * Materialises question #index. The correct answer is always options[0]; callers shuffle.
+     */
+    public Question get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Question " + index + " of " + size());
+        }
+        int mode = 0;
+        while (index >= modeStart[mode + 1]) {
+            mode++;
+        }
+        int base = index * RECORD_SIZE;
+        Country[] options = new Country[OPTIONS];
+        options[0] = countries[records[base]];
+        for (int k = 0; k < DISTRACTORS; k++) {
+            options[k + 1] = countries[records[base + 2 + k]];
+        }
+        return new Question(MODES[mode], promptTable[records[base + 1]], options);
+    }
+
+    /**
+     * Question:
+     * - One multiple-choice question: mode, prompt and OPTIONS candidate countries (correct one first).
+     */
+    public static final class Question {
+        private final QuestionMode mode;
+        private final String prompt;
+        private final Country[] options;
+
+        private Question(QuestionMode mode, String prompt, Country[] options) {
+            this.mode = mode;
+            this.prompt = prompt;
+            this.options = options;
+        }
+
+        public QuestionMode getMode() {
+            return mode;
+        }
+
+        /**
+         * @return the asked-about value (capital, country name, currency, language or flag URL)
+         */
+        public String getPrompt() {
+            return prompt;
+        }
+
+        public String getText() {
+            return mode.questionText(prompt);
+        }
+
+        public Country getCorrect() {
+            return options[0];
+        }
+
+        /**
+         * @return a copy of the candidate countries, correct one first
+         */
+        public List<Country> getOptions() {
+            return new ArrayList<>(Arrays.asList(options));
+        }
+    }
+
+    /**
+     * Read-only lookup tables shared by all fork/join leaves.
+     */
+    private static final class Context {
+        final Country[] countries;
+        final long seed;
+        final String[] promptTable;
+        /** promptIds[m][c]: sorted, distinct prompt ids of country c in mode m. */
+        final int[][][] promptIds;
+        /** answers[m][c]: option label of country c in mode m ("" if none). */
+        final String[][] answers;
+        final int[][] subregionMembers;
+        final int[][] regionMembers;
+        final int[] allMembers;
+
+        Context(Country[] countries, long seed) {
+            this.countries = countries;
+            this.seed = seed;
+            int n = countries.length;
+
+            Map<String, Integer> interned = new HashMap<>();
+            List<String> table = new ArrayList<>();
+            promptIds = new int[MODES.length][n][];
+            answers = new String[MODES.length][n];
+            for (QuestionMode mode : MODES) {
+                int m = mode.ordinal();
+                for (int c = 0; c < n; c++) {
+                    answers[m][c] = mode.answer(countries[c]);
+                    List<String> prompts = mode.prompts(countries[c]);
+                    int[] ids = new int[prompts.size()];
+                    for (int i = 0; i < ids.length; i++) {
+                        Integer id = interned.get(prompts.get(i));
+                        if (id == null) {
+                            id = table.size();
+                            interned.put(prompts.get(i), id);
+                            table.add(prompts.get(i));
+                        }
+                        ids[i] = id;
+                    }
+                    promptIds[m][c] = distinctSorted(ids);
+                }
+            }
+            promptTable = table.toArray(new String[0]);
+
+            subregionMembers = new int[n][];
+            regionMembers = new int[n][];
+            Map<String, int[]> bySubregion = groupBy(countries, true);
+            Map<String, int[]> byRegion = groupBy(countries, false);
+            for (int c = 0; c < n; c++) {
+                subregionMembers[c] = bySubregion.get(countries[c].getSubregion());
+                regionMembers[c] = byRegion.get(countries[c].getRegion());
+            }
+            allMembers = new int[n];
+            for (int c = 0; c < n; c++) {
+                allMembers[c] = c;
+            }
+        }
+
+        private static int[] distinctSorted(int[] ids) {
+            Arrays.sort(ids);
+            int len = 0;
+            for (int i = 0; i < ids.length; i++) {
+                if (len == 0 || ids[len - 1] != ids[i]) {
+                    ids[len++] = ids[i];
+                }
+            }
+            return len == ids.length ? ids : Arrays.copyOf(ids, len);
+        }
+
+        private static Map<String, int[]> groupBy(Country[] countries, boolean subregion) {
+            Map<String, List<Integer>> groups = new LinkedHashMap<>();
+            for (int c = 0; c < countries.length; c++) {
+                String key = subregion ? countries[c].getSubregion() : countries[c].getRegion();
+                List<Integer> members = groups.get(key);
+                if (members == null) {
+                    members = new ArrayList<>();
+                    groups.put(key, members);
+                }
+                members.add(c);
+            }
+            Map<String, int[]> result = new HashMap<>();
+            for (Map.Entry<String, List<Integer>> e : groups.entrySet()) {
+                int[] members = new int[e.getValue().size()];
+                for (int i = 0; i < members.length; i++) {
+                    members[i] = e.getValue().get(i);
+                }
+                result.put(e.getKey(), members);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Per-leaf output: one growable record buffer per mode.
+     */
+    private static final class Chunk {
+        final int[][] data = new int[MODES.length][];
+        final int[] size = new int[MODES.length];
+
+        Chunk(int countries) {
+            for (int m = 0; m < MODES.length; m++) {
+                data[m] = new int[Math.max(1, countries) * VARIANTS * RECORD_SIZE];
+            }
+        }
+
+        void add(int m, int country, int prompt, int[] distractors) {
+            int pos = size[m] * RECORD_SIZE;
+            if (pos + RECORD_SIZE > data[m].length) {
+                data[m] = Arrays.copyOf(data[m], data[m].length * 2);
+            }
+            int[] buf = data[m];
+            buf[pos] = country;
+            buf[pos + 1] = prompt;
+            System.arraycopy(distractors, 0, buf, pos + 2, DISTRACTORS);
+            size[m]++;
+        }
+    }
+
+    private static final class GenerateTask extends RecursiveTask<List<Chunk>> {
+        private static final long serialVersionUID = 1L;
+
+        private final Context ctx;
+        private final int from;
+        private final int to;
+
+        GenerateTask(Context ctx, int from, int to) {
+            this.ctx = ctx;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Chunk> compute() {
+            if (to - from <= LEAF_SIZE) {
+                List<Chunk> result = new ArrayList<>(1);
+                result.add(generateRange());
+                return result;
+            }
+            int mid = (from + to) >>> 1;
+            GenerateTask left = new GenerateTask(ctx, from, mid);
+            GenerateTask right = new GenerateTask(ctx, mid, to);
+            left.fork();
+            List<Chunk> rightResult = right.compute();
+            List<Chunk> result = left.join();
+            result.addAll(rightResult);
+            return result;
+        }
+
+        private Chunk generateRange() {
+            Chunk chunk = new Chunk(to - from);
+            int[] scratch = new int[ctx.countries.length];
+            int[] picked = new int[DISTRACTORS];
+            int[][] variants = new int[VARIANTS][DISTRACTORS];
+
+            for (int m = 0; m < MODES.length; m++) {
+                for (int c = from; c < to; c++) {
+                    if (ctx.answers[m][c].isEmpty()) {
+                        continue;
+                    }
+                    for (int prompt : ctx.promptIds[m][c]) {
+                        SplittableRandom rnd = new SplittableRandom(
+                                ctx.seed ^ (((long) m << 48) | ((long) c << 24) | prompt));
+                        int found = 0;
+                        for (int v = 0; v < VARIANTS; v++) {
+                            if (!pickDistractors(m, c, prompt, rnd, scratch, picked)) {
+                                break;
+                            }
+                            Arrays.sort(picked);
+                            if (!containsVariant(variants, found, picked)) {
+                                System.arraycopy(picked, 0, variants[found++], 0, DISTRACTORS);
+                                chunk.add(m, c, prompt, picked);
+                            }
+                        }
+                    }
+                }
+            }
+            return chunk;
+        }
+
+        /**
+         * Fills picked with DISTRACTORS valid countries, nearest group first.
+         *
+         * @return false if the whole dataset does not contain enough valid distractors
+         */
+        private boolean pickDistractors(int m, int c, int prompt, SplittableRandom rnd,
+                                        int[] scratch, int[] picked) {
+            int count = 0;
+            int[][] pools = {ctx.subregionMembers[c], ctx.regionMembers[c], ctx.allMembers};
+            for (int[] pool : pools) {
+                int n = pool.length;
+                System.arraycopy(pool, 0, scratch, 0, n);
+                while (n > 0 && count < DISTRACTORS) {
+                    int i = rnd.nextInt(n);
+                    int d = scratch[i];
+                    scratch[i] = scratch[--n];
+                    if (isValidDistractor(m, c, prompt, d, picked, count)) {
+                        picked[count++] = d;
+                    }
+                }
+                if (count == DISTRACTORS) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean isValidDistractor(int m, int c, int prompt, int d, int[] picked, int count) {
+            String label = ctx.answers[m][d];
+            if (d == c || label.isEmpty() || label.equals(ctx.answers[m][c])) {
+                return false;
+            }
+            if (Arrays.binarySearch(ctx.promptIds[m][d], prompt) >= 0) {
+                return false;
+            }
+            for (int i = 0; i < count; i++) {
+                if (picked[i] == d || label.equals(ctx.answers[m][picked[i]])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean containsVariant(int[][] variants, int count, int[] candidate) {
+            for (int i = 0; i < count; i++) {
+                if (Arrays.equals(variants[i], candidate)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * QuestionMode:
+ * - One kind of multiple-choice question that QuestionBank can generate.
+ * - prompts(): what a country can be asked about in this mode (a country may yield several,
+ *   e.g. one per official language).
+ * - answer(): the option text a country contributes in this mode ("" if it cannot take part).
+ */
+public enum QuestionMode {
+    CAPITAL_TO_COUNTRY("Capital → Country") {
+        @Override
+        List<String> prompts(Country c) {
+            return single(c.getCapital());
+        }
+
+        @Override
+        public String questionText(String prompt) {
+            return prompt + " is the capital of which country?";
+        }
+    },
+    COUNTRY_TO_CAPITAL("Country → Capital") {
+        @Override
+        List<String> prompts(Country c) {
+            return c.getCapital().isEmpty() ? Collections.<String>emptyList() : single(c.getName());
+        }
+
+        @Override
+        public String answer(Country c) {
+            return c.getCapital();
+        }
+
+        @Override
+        public String questionText(String prompt) {
+            return "What is the capital of " + prompt + "?";
+        }
+    },
+    CURRENCY_TO_COUNTRY("Currency → Country") {
+        @Override
+        List<String> prompts(Country c) {
+            return c.getCurrencies();
+        }
+
+        @Override
+        public String questionText(String prompt) {
+            return "Which country uses the " + prompt + "?";
+        }
+    },
+    LANGUAGE_TO_COUNTRY("Language → Country") {
+        @Override
+        List<String> prompts(Country c) {
+            return c.getLanguages();
+        }
+
+        @Override
+        public String questionText(String prompt) {
+            return prompt + " is an official language of which country?";
+        }
+    },
+    FLAG_TO_COUNTRY("Flag → Country") {
+        @Override
+        List<String> prompts(Country c) {
+            return single(c.getFlagUrl());
+        }
+
+        @Override
+        public String questionText(String prompt) {
+            return "Which country does this flag belong to?";
+        }
+
+        @Override
+        public boolean isFlagPrompt() {
+            return true;
+        }
+    },
+    COUNTRY_TO_FLAG("Country → Flag") {
+        @Override
+        List<String> prompts(Country c) {
+            return c.getFlagUrl().isEmpty() ? Collections.<String>emptyList() : single(c.getName());
+        }
+
+        @Override
+        public String answer(Country c) {
+            return c.getFlagUrl();
+        }
+
+        @Override
+        public String questionText(String prompt) {
+            return "Which of these is the flag of " + prompt + "?";
+        }
+
+        @Override
+        public boolean isFlagAnswer() {
+            return true;
+        }
+    };
+
+    private final String displayName;
+
+    QuestionMode(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * @return the distinct values this country can be asked about, in a stable order
+     */
+    abstract List<String> prompts(Country c);
+
+    /**
+     * @return the option label this country contributes, or "" if it has none in this mode
+     */
+    public String answer(Country c) {
+        return c.getName();
+    }
+
+    /**
+     * @param prompt a value returned by prompts() for some country
+     * @return the question shown to the player
+     */
+    public abstract String questionText(String prompt);
+
+    /**
+     * @return true if the prompt is a flag image URL rather than text
+     */
+    public boolean isFlagPrompt() {
+        return false;
+    }
+
+    /**
+     * @return true if the options are flags (answer() is a flag URL) and must be shown as images
+     */
+    public boolean isFlagAnswer() {
+        return false;
+    }
+
+    /**
+     * @return true if this mode can only be played when flags can be drawn
+     */
+    public boolean needsFlags() {
+        return isFlagPrompt() || isFlagAnswer();
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+
+    private static List<String> single(String value) {
+        if (value.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> list = new ArrayList<>(1);
+        list.add(value);
+        return list;
+    }
+}
@@ -1,12 +1,17 @@
 package org.example;
 
 import java.util.List;
-import javax.swing.Timer;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Segment;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
+import java.io.IOException;
 import java.net.URL;
 
 import org.apache.logging.log4j.Logger;
@@ -14,8 +19,11 @@ import org.apache.logging.log4j.LogManager;
 
 /**
  * QuizGame:
- * - Uses Scraper.getCountryCapitalMap() to fetch a <Country→Capital> map.
- * - Runs a 10-question quiz: “X is the capital of which country?”
+ * - Uses Scraper.getCountries() to fetch the country dataset and QuestionBank to precompute questions.
+ * - Runs a 10-question quiz drawn from the bank, either in one QuestionMode or mixed.
+ * - Times questions with a shared DeadlineScheduler countdown whose events are delivered on the EDT.
+ * - Optionally takes typed answers with live autocomplete and typo-tolerant grading (NameIndex).
+ * - Draws flags (flag modes, info panel) from a FlagAtlas when one is available.
  * - Displays info (flag, languages, currency, capital, summary) on the right panel.
  * - Logs important steps using Log4j 2.
  */
@@ -25,12 +33,38 @@ public class QuizGame extends JFrame {
     private static final int TOTAL_QUESTIONS = 10;
     private static final int TIME_PER_QUESTION = 10; 
 
-    private final Map<String, String> countryCapitalMap;
-    private final List<Map.Entry<String, String>> allPairs = new ArrayList<>();
-    private final List<Map.Entry<String, String>> quizPool = new ArrayList<>();
-
+    /** One wheel for every countdown in the JVM; 100 ms resolution is plenty for a seconds display. */
+    private static final DeadlineScheduler SCHEDULER = new DeadlineScheduler(100, TimeUnit.MILLISECONDS, 512);
+
+    private static final String MIXED_MODES = "Mixed modes";
+    private static final String BUTTONS_CARD = "buttons";
+    private static final String TYPED_CARD = "typed";
+    private static final int MAX_SUGGESTIONS = 6;
+
+    private final QuestionBank questionBank;
+    private final FlagAtlas flagAtlas;
+    private final Map<String, String> countryCapitalMap = new HashMap<>();
+    private final List<Integer> quizPool = new ArrayList<>();
+    private final NameIndex countryNameIndex;
+    private final NameIndex capitalNameIndex;
+    // Matchers and their buffers are only used on the EDT.
+    private final NameIndex.Matcher countryMatcher;
+    private final NameIndex.Matcher capitalMatcher;
+    private final int[] suggestionIds = new int[MAX_SUGGESTIONS];
+    private final Segment typedText = new Segment();
+
+    private JPanel topPanel;
     private JLabel questionLabel;
-    private JButton[] optionButtons = new JButton[4];
+    private JButton[] optionButtons = new JButton[QuestionBank.OPTIONS];
+    private final Country[] optionCountries = new Country[QuestionBank.OPTIONS];
+    private JComboBox<Object> modeBox;
+    private JCheckBox typedAnswersBox;
+    private JPanel answerPanel;
+    private JTextField answerField;
+    private JButton submitButton;
+    private DefaultListModel<String> suggestionModel;
+    private JList<String> suggestionList;
+    private JLabel typedFeedbackLabel;
     private JLabel timerLabel;
     private JLabel scoreLabel;
     private JLabel questionNoLabel;
@@ -45,17 +79,35 @@ public class QuizGame extends JFrame {
 
     private int currentQuestionIndex = 0;
     private int score = 0;
-    private int timeRemaining = TIME_PER_QUESTION;
-    private Timer countdownTimer;
-    private Map.Entry<String, String> correctEntry;
+    private DeadlineScheduler.Countdown countdown;
+    private QuestionBank.Question currentQuestion;
     private boolean answered;
 
-    public QuizGame(Map<String, String> countryCapitalMap) {
+    /**
+     * @param flagAtlas may be null, in which case flag modes are disabled and info flags are downloaded
+     */
+    public QuizGame(QuestionBank questionBank, FlagAtlas flagAtlas) {
         logger.info("Starting QuizGame application");
-        this.countryCapitalMap = countryCapitalMap;
-        this.allPairs.addAll(countryCapitalMap.entrySet());
+        this.questionBank = questionBank;
+        this.flagAtlas = flagAtlas;
+        List<Country> countries = questionBank.getCountries();
+        List<String> countryNames = new ArrayList<>();
+        List<List<String>> alternateNames = new ArrayList<>();
+        List<String> capitals = new ArrayList<>();
+        for (Country country : countries) {
+            if (!country.getCapital().isEmpty()) {
+                countryCapitalMap.put(country.getName(), country.getCapital());
+            }
+            countryNames.add(country.getName());
+            alternateNames.add(country.getAlternateNames());
+            capitals.add(country.getCapital().isEmpty() ? null : country.getCapital());
+        }
+        countryNameIndex = NameIndex.build(countryNames, alternateNames);
+        capitalNameIndex = NameIndex.build(capitals, Collections.<List<String>>emptyList());
+        countryMatcher = countryNameIndex.newMatcher();
+        capitalMatcher = capitalNameIndex.newMatcher();
 
-        setTitle("Capital → Country Quiz");
+        setTitle("Country Quiz");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setMinimumSize(new Dimension(1200, 600));
         setLocationRelativeTo(null);
@@ -78,11 +130,13 @@ public class QuizGame extends JFrame {
 
 
         //LEFT
-        JPanel topPanel = new JPanel(new BorderLayout(10, 10));
+        topPanel = new JPanel(new BorderLayout(10, 10));
         questionLabel = new JLabel("Question loading...", SwingConstants.CENTER);
         questionLabel.setFont(new Font("Segoe UI", Font.BOLD, 20));
         questionLabel.setBackground(backgroundColor);
         questionLabel.setForeground(questionTextColor);
+        questionLabel.setHorizontalTextPosition(SwingConstants.CENTER);
+        questionLabel.setVerticalTextPosition(SwingConstants.BOTTOM);
         topPanel.setPreferredSize(new Dimension(500, 50));
         topPanel.add(questionLabel, BorderLayout.CENTER);
 
@@ -92,7 +146,7 @@ public class QuizGame extends JFrame {
 
         JPanel centerPanel = new JPanel(new GridLayout(2, 2, 15, 15));
         centerPanel.setBackground(backgroundColor);
-        for (int i = 0; i < 4; i++) {
+        for (int i = 0; i < QuestionBank.OPTIONS; i++) {
             JButton btn = new JButton((char) ('A' + i) + ") Option");
             btn.setFont(new Font("Segoe UI", Font.PLAIN, 16));
             btn.setFocusPainted(false);
@@ -105,6 +159,29 @@ public class QuizGame extends JFrame {
         }
 
         JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 10));
+        modeBox = new JComboBox<>();
+        modeBox.addItem(MIXED_MODES);
+        for (QuestionMode mode : QuestionMode.values()) {
+            if (questionBank.size(mode) > 0 && (flagAtlas != null || !mode.needsFlags())) {
+                modeBox.addItem(mode);
+            }
+        }
+        modeBox.setFont(new Font("Segoe UI", Font.PLAIN, 16));
+        modeBox.addActionListener(e -> {
+            logger.info("Question mode changed: " + modeBox.getSelectedItem());
+            startQuiz();
+        });
+        bottomPanel.add(modeBox);
+
+        typedAnswersBox = new JCheckBox("Type answers");
+        typedAnswersBox.setFont(new Font("Segoe UI", Font.PLAIN, 16));
+        typedAnswersBox.setFocusPainted(false);
+        typedAnswersBox.addActionListener(e -> {
+            logger.info("Typed answers: " + typedAnswersBox.isSelected());
+            startQuiz();
+        });
+        bottomPanel.add(typedAnswersBox);
+
         scoreLabel = new JLabel("Score: 0 / " + TOTAL_QUESTIONS);
         scoreLabel.setFont(new Font("Segoe UI", Font.PLAIN, 16));
         bottomPanel.add(scoreLabel);
@@ -123,7 +200,10 @@ public class QuizGame extends JFrame {
 
         JPanel quizPanel = new JPanel(new BorderLayout(15, 15));
         quizPanel.add(topPanel, BorderLayout.NORTH);
-        quizPanel.add(centerPanel, BorderLayout.CENTER);
+        answerPanel = new JPanel(new CardLayout());
+        answerPanel.add(centerPanel, BUTTONS_CARD);
+        answerPanel.add(createTypedAnswerPanel(), TYPED_CARD);
+        quizPanel.add(answerPanel, BorderLayout.CENTER);
         quizPanel.add(bottomPanel, BorderLayout.SOUTH);
 
         //RIGHT
@@ -188,12 +268,104 @@ public class QuizGame extends JFrame {
 
     }
 
+    /**
+     * Text field with a live suggestion list, shown instead of the option buttons in typed mode.
+     */
+    private JPanel createTypedAnswerPanel() {
+        answerField = new JTextField();
+        answerField.setFont(new Font("Segoe UI", Font.PLAIN, 18));
+        answerField.addActionListener(e -> submitTypedAnswer());
+        answerField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                updateSuggestions();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                updateSuggestions();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                updateSuggestions();
+            }
+        });
+
+        submitButton = new JButton("Answer");
+        submitButton.setFont(new Font("Segoe UI", Font.BOLD, 16));
+        submitButton.setFocusPainted(false);
+        submitButton.addActionListener(e -> submitTypedAnswer());
+
+        suggestionModel = new DefaultListModel<>();
+        suggestionList = new JList<>(suggestionModel);
+        suggestionList.setFont(new Font("Segoe UI", Font.PLAIN, 16));
+        suggestionList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        suggestionList.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                String chosen = suggestionList.getSelectedValue();
+                if (chosen != null && !answered) {
+                    answerField.setText(chosen);
+                    answerField.requestFocusInWindow();
+                    if (e.getClickCount() >= 2) {
+                        submitTypedAnswer();
+                    }
+                }
+            }
+        });
+
+        typedFeedbackLabel = new JLabel(" ", SwingConstants.CENTER);
+        typedFeedbackLabel.setFont(new Font("Segoe UI", Font.BOLD, 16));
+
+        JPanel inputRow = new JPanel(new BorderLayout(10, 10));
+        inputRow.add(answerField, BorderLayout.CENTER);
+        inputRow.add(submitButton, BorderLayout.EAST);
+
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+        panel.add(inputRow, BorderLayout.NORTH);
+        panel.add(new JScrollPane(suggestionList), BorderLayout.CENTER);
+        panel.add(typedFeedbackLabel, BorderLayout.SOUTH);
+        return panel;
+    }
+
     private void startQuiz() {
-        logger.info("Starting quiz: shuffling questions.");
-        Collections.shuffle(allPairs);
+        stopCountdown();
+        Object selected = modeBox.getSelectedItem();
+        List<QuestionMode> modes = new ArrayList<>();
+        for (int i = 0; i < modeBox.getItemCount(); i++) {
+            Object item = modeBox.getItemAt(i);
+            if (item instanceof QuestionMode && (selected == MIXED_MODES || item == selected)) {
+                modes.add((QuestionMode) item);
+            }
+        }
+        logger.info("Starting quiz: sampling questions, mode=" + selected);
+
+        int total = 0;
+        for (QuestionMode mode : modes) {
+            total += questionBank.size(mode);
+        }
+        int[] candidates = new int[total];
+        int n = 0;
+        for (QuestionMode mode : modes) {
+            for (int i = 0; i < questionBank.size(mode); i++) {
+                candidates[n++] = questionBank.firstIndex(mode) + i;
+            }
+        }
+
+        // Sample distinct bank indices, at most one question per country.
         quizPool.clear();
-        for (int i = 0; i < Math.min(TOTAL_QUESTIONS, allPairs.size()); i++) {
-            quizPool.add(allPairs.get(i));
+        Random rnd = new Random();
+        Set<Country> usedCountries = new HashSet<>();
+        int remaining = candidates.length;
+        while (quizPool.size() < TOTAL_QUESTIONS && remaining > 0) {
+            int pick = rnd.nextInt(remaining);
+            int index = candidates[pick];
+            candidates[pick] = candidates[--remaining];
+            QuestionBank.Question question = questionBank.get(index);
+            if (isPlayable(question) && usedCountries.add(question.getCorrect())) {
+                quizPool.add(index);
+            }
         }
         currentQuestionIndex = 0;
         score = 0;
@@ -231,71 +403,197 @@ public class QuizGame extends JFrame {
         capitalLabel.setText(" ");
         infoArea.setText(" ");
 
-        if (countdownTimer != null && countdownTimer.isRunning()) {
-            countdownTimer.stop();
-        }
-        timeRemaining = TIME_PER_QUESTION;
-        timerLabel.setText("Time: " + timeRemaining);
+        stopCountdown();
+        timerLabel.setText("Time: " + TIME_PER_QUESTION);
 
-        correctEntry = quizPool.get(currentQuestionIndex);
-        String correctCountry = correctEntry.getKey();
-        String capital = correctEntry.getValue();
-        questionLabel.setText(capital + " is the capital of which country?");
+        final QuestionBank.Question question = questionBank.get(quizPool.get(currentQuestionIndex));
+        currentQuestion = question;
+        questionLabel.setText(question.getText());
+        questionLabel.setIcon(null);
+        showQuestionPrompt(question);
 
         int displayIndex = currentQuestionIndex + 1;
         questionNoLabel.setText("Question No: " + displayIndex + " / " + TOTAL_QUESTIONS);
-        logger.debug("Loading new question: [#" + displayIndex + "] Capital=" + capital);
+        logger.debug("Loading new question: [#" + displayIndex + "] Mode=" + question.getMode()
+                + ", Prompt=" + question.getPrompt());
 
-        Set<String> choiceSet = new LinkedHashSet<>();
-        choiceSet.add(correctCountry);
-        Random rnd = new Random();
-        while (choiceSet.size() < 4) {
-            String randomCountry = allPairs.get(rnd.nextInt(allPairs.size())).getKey();
-            if (!randomCountry.equals(correctCountry)) {
-                choiceSet.add(randomCountry);
-            }
-        }
-        List<String> choiceList = new ArrayList<>(choiceSet);
+        List<Country> choiceList = question.getOptions();
         Collections.shuffle(choiceList);
-        for (int i = 0; i < 4; i++) {
-            optionButtons[i].setText((char) ('A' + i) + ") " + choiceList.get(i));
+        for (int i = 0; i < QuestionBank.OPTIONS; i++) {
+            optionCountries[i] = choiceList.get(i);
+            if (question.getMode().isFlagAnswer()) {
+                optionButtons[i].setText((char) ('A' + i) + ")");
+                optionButtons[i].setIcon(flagAtlas.getIcon(choiceList.get(i).getName(), FlagAtlas.CELL_HEIGHT));
+                optionButtons[i].setHorizontalTextPosition(SwingConstants.LEFT);
+            } else {
+                optionButtons[i].setText((char) ('A' + i) + ") " + question.getMode().answer(choiceList.get(i)));
+            }
         }
 
-        countdownTimer = new Timer(1000, e -> {
-            timeRemaining--;
-            timerLabel.setText("Time: " + timeRemaining);
-            if (timeRemaining <= 0) {
-                ((Timer) e.getSource()).stop();
-                logger.warn("Time expired: Question #" + displayIndex);
+        prepareAnswerInput(question);
 
-                SwingUtilities.invokeLater(() -> {
-                    int result = JOptionPane.showConfirmDialog(
-                            QuizGame.this,
-                            "Time's up! Do you want to play again?",
-                            "Game Over",
-                            JOptionPane.YES_NO_OPTION
-                    );
-
-                    if (result == JOptionPane.YES_OPTION) {
-                        logger.info("User chose to restart the quiz.");
-                        startQuiz();
-                    } else {
-                        logger.info("User chose to exit after time expired.");
-                        dispose();
+        countdown = SCHEDULER.startCountdown(TIME_PER_QUESTION, SwingUtilities::invokeLater,
+                new DeadlineScheduler.CountdownListener() {
+                    @Override
+                    public void onTick(int secondsRemaining) {
+                        timerLabel.setText("Time: " + secondsRemaining);
+                    }
+
+                    @Override
+                    public void onExpired() {
+                        logger.warn("Time expired: Question #" + displayIndex);
+                        int result = JOptionPane.showConfirmDialog(
+                                QuizGame.this,
+                                "Time's up! Do you want to play again?",
+                                "Game Over",
+                                JOptionPane.YES_NO_OPTION
+                        );
+
+                        if (result == JOptionPane.YES_OPTION) {
+                            logger.info("User chose to restart the quiz.");
+                            startQuiz();
+                        } else {
+                            logger.info("User chose to exit after time expired.");
+                            dispose();
+                        }
                     }
                 });
+
+        currentQuestionIndex++;
+    }
+
+    /**
+     * Sizes the question area for the prompt and, for flag prompts, shows the flag from the atlas.
+     */
+    private void showQuestionPrompt(QuestionBank.Question question) {
+        boolean flagPrompt = question.getMode().isFlagPrompt();
+        topPanel.setPreferredSize(new Dimension(500, flagPrompt ? 160 : 50));
+        topPanel.revalidate();
+        if (flagPrompt) {
+            questionLabel.setIcon(flagAtlas.getIcon(question.getCorrect().getName(), 100));
+        }
+    }
+
+    /**
+     * @return false if the question shows flags that the atlas cannot draw
+     */
+    private boolean isPlayable(QuestionBank.Question question) {
+        if (!question.getMode().needsFlags()) {
+            return true;
+        }
+        if (flagAtlas == null) {
+            return false;
+        }
+        for (Country country : question.getOptions()) {
+            if (!flagAtlas.contains(country.getName())) {
+                return false;
             }
+        }
+        return true;
+    }
 
-        });
-        countdownTimer.start();
+    /**
+     * @return the matcher typed answers to this mode are graded with, or null for flag answers
+     */
+    private NameIndex.Matcher matcherFor(QuestionMode mode) {
+        if (mode.isFlagAnswer()) {
+            return null;
+        }
+        return mode == QuestionMode.COUNTRY_TO_CAPITAL ? capitalMatcher : countryMatcher;
+    }
 
-        currentQuestionIndex++;
+    private boolean isTypedQuestion(QuestionBank.Question question) {
+        return typedAnswersBox.isSelected() && matcherFor(question.getMode()) != null;
     }
 
-    private void endQuiz() {
-        if (countdownTimer != null && countdownTimer.isRunning()) {
-            countdownTimer.stop();
+    private void prepareAnswerInput(QuestionBank.Question question) {
+        boolean typed = isTypedQuestion(question);
+        ((CardLayout) answerPanel.getLayout()).show(answerPanel, typed ? TYPED_CARD : BUTTONS_CARD);
+        if (!typed) {
+            return;
         }
+        answerField.setText("");
+        answerField.setEnabled(true);
+        answerField.setBackground(UIManager.getColor("TextField.background"));
+        submitButton.setEnabled(true);
+        suggestionModel.clear();
+        typedFeedbackLabel.setText(" ");
+        answerField.requestFocusInWindow();
+    }
+
+    /**
+     * Reads the field into the reusable Segment, so a keystroke does not copy the text.
+     */
+    private CharSequence typedAnswer() {
+        try {
+            answerField.getDocument().getText(0, answerField.getDocument().getLength(), typedText);
+        } catch (BadLocationException e) {
+            typedText.count = 0;
+        }
+        return typedText;
+    }
+
+    private void updateSuggestions() {
+        if (answered || currentQuestion == null || !isTypedQuestion(currentQuestion)) {
+            return;
+        }
+        NameIndex.Matcher matcher = matcherFor(currentQuestion.getMode());
+        NameIndex index = matcher == capitalMatcher ? capitalNameIndex : countryNameIndex;
+        int count = matcher.suggest(typedAnswer(), suggestionIds);
+        suggestionModel.clear();
+        for (int i = 0; i < count; i++) {
+            suggestionModel.addElement(index.getDisplayName(suggestionIds[i]));
+        }
+    }
+
+    private void submitTypedAnswer() {
+        if (answered || answerField.getDocument().getLength() == 0) {
+            return;
+        }
+        answered = true;
+        stopCountdown();
+
+        final QuestionMode mode = currentQuestion.getMode();
+        final String prompt = currentQuestion.getPrompt();
+        final List<Country> countries = questionBank.getCountries();
+        Country correctCountry = currentQuestion.getCorrect();
+        String correctAnswer = mode.answer(correctCountry);
+        String typed = answerField.getText();
+        // Any country the prompt fits is right: "Euro" has many, "Kingston" is the capital of two.
+        int matchedId = matcherFor(mode).gradeAny(typedAnswer(), id -> mode.prompts(countries.get(id)).contains(prompt));
+        logger.debug("User typed answer: " + typed + " (matched id " + matchedId + ")");
+
+        answerField.setEnabled(false);
+        submitButton.setEnabled(false);
+        suggestionModel.clear();
+        if (matchedId >= 0) {
+            String matchedAnswer = mode.answer(countries.get(matchedId));
+            score++;
+            scoreLabel.setText("Score: " + score + " / " + TOTAL_QUESTIONS);
+            answerField.setBackground(new Color(34, 139, 34));
+            typedFeedbackLabel.setText(NameIndex.normalize(typed).equals(NameIndex.normalize(matchedAnswer))
+                    ? "Correct!" : "Correct! (" + matchedAnswer + ")");
+            logger.info("Correct answer typed: " + typed);
+        } else {
+            answerField.setBackground(new Color(178, 34, 34));
+            typedFeedbackLabel.setText("Wrong, the answer is " + correctAnswer);
+            logger.warn("Wrong answer typed: " + typed + ", correct: " + correctAnswer);
+        }
+
+        // Show the country the player actually named when several were right.
+        loadCountryInfoAndFlag((matchedId >= 0 ? countries.get(matchedId) : correctCountry).getName());
+        nextButton.setEnabled(true);
+    }
+
+    private void stopCountdown() {
+        if (countdown != null) {
+            countdown.cancel();
+            countdown = null;
+        }
+    }
+
+    private void endQuiz() {
+        stopCountdown();
         logger.info("Quiz ended. Final score: " + score + " / " + TOTAL_QUESTIONS);
         JOptionPane.showMessageDialog(
                 this,
@@ -324,25 +622,21 @@ public class QuizGame extends JFrame {
         @Override
         public void actionPerformed(ActionEvent e) {
             if (answered) {
-                JButton clickedLater = optionButtons[index];
-                String chosenLater = clickedLater.getText()
-                        .substring(clickedLater.getText().indexOf(") ") + 2);
+                String chosenLater = optionCountries[index].getName();
                 logger.debug("After answered, new choice: " + chosenLater);
                 loadCountryInfoAndFlag(chosenLater);
                 return;
             }
             answered = true;
 
-            if (countdownTimer != null && countdownTimer.isRunning()) {
-                countdownTimer.stop();
-            }
+            stopCountdown();
 
             JButton clicked = optionButtons[index];
-            String chosenCountry = clicked.getText()
-                    .substring(clicked.getText().indexOf(") ") + 2);
+            Country correctCountry = currentQuestion.getCorrect();
+            String chosenCountry = optionCountries[index].getName();
             logger.debug("User selected option: " + chosenCountry);
 
-            if (chosenCountry.equals(correctEntry.getKey())) {
+            if (optionCountries[index] == correctCountry) {
                 score++;
                 scoreLabel.setText("Score: " + score + " / " + TOTAL_QUESTIONS);
                 clicked.setBackground(new Color(34, 139, 34));
@@ -352,25 +646,25 @@ public class QuizGame extends JFrame {
                 clicked.setBackground(new Color(178, 34, 34));
                 clicked.setForeground(Color.WHITE);
                 logger.warn("Wrong answer given: " + chosenCountry +
-                        ", correct: " + correctEntry.getKey());
-                for (JButton btn : optionButtons) {
-                    String text = btn.getText();
-                    String countryOption = text.substring(text.indexOf(") ") + 2);
-                    if (countryOption.equals(correctEntry.getKey())) {
-                        btn.setBackground(new Color(34, 139, 34));
-                        btn.setForeground(Color.WHITE);
+                        ", correct: " + correctCountry.getName());
+                for (int i = 0; i < optionButtons.length; i++) {
+                    if (optionCountries[i] == correctCountry) {
+                        optionButtons[i].setBackground(new Color(34, 139, 34));
+                        optionButtons[i].setForeground(Color.WHITE);
                         break;
                     }
                 }
             }
 
-            Icon infoIcon = UIManager.getIcon("OptionPane.informationIcon");
-            for (JButton btn : optionButtons) {
-                btn.setIcon(infoIcon);
-                btn.setHorizontalTextPosition(SwingConstants.RIGHT);
+            if (!currentQuestion.getMode().isFlagAnswer()) {
+                Icon infoIcon = UIManager.getIcon("OptionPane.informationIcon");
+                for (JButton btn : optionButtons) {
+                    btn.setIcon(infoIcon);
+                    btn.setHorizontalTextPosition(SwingConstants.RIGHT);
+                }
             }
 
-            loadCountryInfoAndFlag(correctEntry.getKey());
+            loadCountryInfoAndFlag(correctCountry.getName());
             nextButton.setEnabled(true);
         }
     }
@@ -388,8 +682,8 @@ public class QuizGame extends JFrame {
         new Thread(() -> {
             Scraper scraper = new Scraper();
 
-            String flagUrl = scraper.getCountryFlagUrl(countryName);
-            ImageIcon flagIcon = null;
+            Icon flagIcon = flagAtlas != null ? flagAtlas.getIcon(countryName, FlagAtlas.CELL_HEIGHT) : null;
+            String flagUrl = flagIcon != null ? "" : scraper.getCountryFlagUrl(countryName);
             if (!flagUrl.isEmpty()) {
                 try {
                     URL url = new URL(flagUrl);
@@ -410,7 +704,7 @@ public class QuizGame extends JFrame {
             logger.debug("Summary retrieved: " + summary);
             String capitalText = countryCapitalMap.getOrDefault(countryName, "N/A");
 
-            final ImageIcon finalFlag = flagIcon;
+            final Icon finalFlag = flagIcon;
             final String finalLanguages = languagesText;
             final String finalCurrency = currencyText;
             final String finalCapital = capitalText;
@@ -477,7 +771,7 @@ public class QuizGame extends JFrame {
         SwingUtilities.invokeLater(() -> {
             JFrame loadingFrame = new JFrame("Loading data…");
             JLabel loadingLabel = new JLabel(
-                    "Please wait, downloading capital data…", SwingConstants.CENTER
+                    "Please wait, downloading country data…", SwingConstants.CENTER
             );
             loadingLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
             loadingFrame.add(loadingLabel);
@@ -487,10 +781,23 @@ public class QuizGame extends JFrame {
             loadingFrame.setVisible(true);
 
             new Thread(() -> {
-                Map<String, String> map;
+                List<Country> countries;
+                QuestionBank bank;
+                FlagAtlas atlas = null;
                 try {
-                    map = new Scraper().getCountryCapitalMap();
-                    logger.info("Country→Capital data retrieved, total: " + (map != null ? map.size() : 0));
+                    countries = new Scraper().getCountries();
+                    logger.info("Country data retrieved, total: " + (countries != null ? countries.size() : 0));
+                    bank = countries == null || countries.isEmpty()
+                            ? null
+                            : QuestionBank.generate(countries, System.nanoTime());
+                    if (bank != null) {
+                        SwingUtilities.invokeLater(() -> loadingLabel.setText("Please wait, preparing flags…"));
+                        try {
+                            atlas = FlagAtlas.loadOrBuild(countries, FlagAtlas.defaultCacheDir());
+                        } catch (IOException e) {
+                            logger.error("Flag atlas unavailable, flag modes disabled: " + e.getMessage());
+                        }
+                    }
                 } catch (Throwable t) {
                     logger.error("Error fetching data: " + t.getMessage());
                     final String stack = getStackTraceAsString(t);
@@ -509,13 +816,13 @@ public class QuizGame extends JFrame {
                     return;
                 }
 
-                if (map == null || map.isEmpty()) {
+                if (bank == null || bank.size() == 0) {
                     logger.warn("Fetched data is null or empty");
                     SwingUtilities.invokeLater(() -> {
                         loadingFrame.dispose();
                         JOptionPane.showMessageDialog(
                                 null,
-                                "Failed to fetch any country-capital pairs.\nCheck your Internet connection and try again.",
+                                "Failed to fetch any country data.\nCheck your Internet connection and try again.",
                                 "Data Load Error",
                                 JOptionPane.ERROR_MESSAGE
                         );
@@ -524,10 +831,11 @@ public class QuizGame extends JFrame {
                     return;
                 }
 
-                final Map<String, String> finalMap = map;
+                final QuestionBank finalBank = bank;
+                final FlagAtlas finalAtlas = atlas;
                 SwingUtilities.invokeLater(() -> {
                     loadingFrame.dispose();
-                    QuizGame game = new QuizGame(finalMap);
+                    QuizGame game = new QuizGame(finalBank, finalAtlas);
                     game.setVisible(true);
                 });
             }).start();
@@ -5,8 +5,14 @@ import org.json.JSONObject;
 import org.jsoup.Jsoup;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -16,14 +22,52 @@ import org.apache.logging.log4j.LogManager;
 
 /**
  * Scraper:
- * - getCountryCapitalMap(): downloads JSON from restcountries.com and builds a Country→Capital map.
+ * - getCountries(): downloads JSON from restcountries.com and builds the Country dataset.
+ * - getCountryCapitalMap(): derives a Country→Capital map from getCountries().
  * - getCountryFlagUrl(), getCountryLanguages(), getCountryCurrency(), getCountrySummary():
  *   scrape Wikipedia pages using Jsoup.
+ * - Base URLs default to the live sites and can be pointed elsewhere (e.g. a FixtureServer)
+ *   via the constructor or the scraper.restCountriesUrl / scraper.wikipediaUrl system properties.
  * - Logs errors and information via Log4j 2.
  */
 public class Scraper {
     private static final Logger logger = LogManager.getLogger(Scraper.class);
 
+    /** restcountries.com rejects /all without an explicit field list. */
+    private static final String COUNTRY_FIELDS = "name,altSpellings,capital,region,subregion,currencies,languages,flags";
+
+    public static final String DEFAULT_REST_COUNTRIES_URL = "https://restcountries.com";
+    public static final String DEFAULT_WIKIPEDIA_URL = "https://en.wikipedia.org";
+
+    private final String restCountriesBaseUrl;
+    private final String wikipediaBaseUrl;
+
+    /**
+     * Uses the live sites unless overridden by the scraper.restCountriesUrl / scraper.wikipediaUrl
+     * system properties.
+     */
+    public Scraper() {
+        this(System.getProperty("scraper.restCountriesUrl", DEFAULT_REST_COUNTRIES_URL),
+                System.getProperty("scraper.wikipediaUrl", DEFAULT_WIKIPEDIA_URL));
+    }
+
+    /**
+     * @param restCountriesBaseUrl origin serving /v3.1/all, e.g. "https://restcountries.com"
+     * @param wikipediaBaseUrl     origin serving /wiki/{page}, e.g. "https://en.wikipedia.org"
+     */
+    public Scraper(String restCountriesBaseUrl, String wikipediaBaseUrl) {
+        this.restCountriesBaseUrl = stripTrailingSlash(restCountriesBaseUrl);
+        this.wikipediaBaseUrl = stripTrailingSlash(wikipediaBaseUrl);
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    private String wikiPageUrl(String countryName) {
+        return wikipediaBaseUrl + "/wiki/" + countryName.trim().replace(" ", "_");
+    }
+
     /**
      * Finds “Official languages” (or “Languages”) row in the infobox and returns its plain text.
      *
@@ -31,7 +75,7 @@ public class Scraper {
      * @return "Languages: …" or "Languages: N/A"/"Languages: Error" on failure
      */
     public String getCountryLanguages(String countryName) {
-        String wikiUrl = "https://en.wikipedia.org/wiki/" + countryName.trim().replace(" ", "_");
+        String wikiUrl = wikiPageUrl(countryName);
         try {
             logger.debug("Loading languages for: " + countryName);
             Document doc = Jsoup.connect(wikiUrl)
@@ -70,7 +114,7 @@ public class Scraper {
      * Retrieves the first non-trivial paragraph (“lead summary”) from the Wikipedia page.
      */
     public String getCountrySummary(String countryName) {
-        String wikiUrl = "https://en.wikipedia.org/wiki/" + countryName.trim().replace(" ", "_");
+        String wikiUrl = wikiPageUrl(countryName);
         try {
             logger.debug("Loading summary for: " + countryName);
             Document doc = Jsoup.connect(wikiUrl)
@@ -100,7 +144,7 @@ public class Scraper {
      * Scrapes the Wikipedia infobox for the flag image URL.
      */
     public String getCountryFlagUrl(String countryName) {
-        String wikiUrl = "https://en.wikipedia.org/wiki/" + countryName.trim().replace(" ", "_");
+        String wikiUrl = wikiPageUrl(countryName);
         try {
             logger.debug("Searching flag URL for: " + countryName);
             Document doc = Jsoup.connect(wikiUrl)
@@ -127,7 +171,7 @@ public class Scraper {
             } else if (src.startsWith("http")) {
                 fullUrl = src;
             } else {
-                fullUrl = "https://en.wikipedia.org" + src;
+                fullUrl = wikipediaBaseUrl + src;
             }
             logger.info("Found flag URL: " + countryName + " → " + fullUrl);
             return fullUrl;
@@ -141,7 +185,7 @@ public class Scraper {
      * Scrapes the Wikipedia infobox for the country’s currency.
      */
     public String getCountryCurrency(String countryName) {
-        String wikiUrl = "https://en.wikipedia.org/wiki/" + countryName.trim().replace(" ", "_");
+        String wikiUrl = wikiPageUrl(countryName);
         try {
             logger.debug("Searching currency for: " + countryName);
             Document doc = Jsoup.connect(wikiUrl)
@@ -178,12 +222,31 @@ public class Scraper {
 
     /**
      * Downloads JSON from restcountries.com and builds a Country→Capital map.
+     * Only countries with exactly one capital are included.
      */
     public Map<String, String> getCountryCapitalMap() {
         logger.info("Retrieving Country→Capital map");
         Map<String, String> countryCapitalMap = new HashMap<>();
+        for (Country country : getCountries()) {
+            if (!country.getCapital().isEmpty()) {
+                countryCapitalMap.put(country.getName(), country.getCapital());
+            }
+        }
+        logger.info("Country→Capital map built, size: " + countryCapitalMap.size());
+        return countryCapitalMap;
+    }
+
+    /**
+     * Downloads JSON from restcountries.com and builds the full country dataset,
+     * sorted by name so that anything derived from it (e.g. QuestionBank) is reproducible.
+     *
+     * @return all countries with a common name, or an empty list on failure
+     */
+    public List<Country> getCountries() {
+        logger.info("Retrieving country dataset");
+        List<Country> result = new ArrayList<>();
         try {
-            String url = "https://restcountries.com/v3.1/all";
+            String url = restCountriesBaseUrl + "/v3.1/all?fields=" + COUNTRY_FIELDS;
             String json = Jsoup.connect(url)
                     .ignoreContentType(true)
                     .userAgent("Mozilla/5.0")
@@ -199,21 +262,73 @@ public class Scraper {
                 if (country.has("name") && country.getJSONObject("name").has("common")) {
                     cname = country.getJSONObject("name").getString("common");
                 }
+                if (cname.isEmpty()) {
+                    continue;
+                }
 
+                Set<String> alternateNames = new LinkedHashSet<>();
+                String official = country.getJSONObject("name").optString("official", "");
+                if (!official.isEmpty()) {
+                    alternateNames.add(official);
+                }
+                JSONArray altSpellings = country.optJSONArray("altSpellings");
+                if (altSpellings != null) {
+                    for (int j = 0; j < altSpellings.length(); j++) {
+                        String alt = altSpellings.optString(j, "");
+                        if (!alt.isEmpty()) {
+                            alternateNames.add(alt);
+                        }
+                    }
+                }
+                alternateNames.remove(cname);
+
+                String capital = "";
                 if (country.has("capital")) {
                     JSONArray capitals = country.getJSONArray("capital");
                     if (capitals.length() == 1) {
-                        String capital = capitals.getString(0);
-                        countryCapitalMap.put(cname, capital);
+                        capital = capitals.getString(0);
                     }
                 }
+
+                List<String> currencies = new ArrayList<>();
+                JSONObject currencyObj = country.optJSONObject("currencies");
+                if (currencyObj != null) {
+                    for (String code : new TreeSet<>(currencyObj.keySet())) {
+                        JSONObject currency = currencyObj.optJSONObject(code);
+                        String cur = currency != null ? currency.optString("name", "") : "";
+                        if (!cur.isEmpty()) {
+                            currencies.add(cur);
+                        }
+                    }
+                }
+
+                List<String> languages = new ArrayList<>();
+                JSONObject languageObj = country.optJSONObject("languages");
+                if (languageObj != null) {
+                    for (String code : new TreeSet<>(languageObj.keySet())) {
+                        String lang = languageObj.optString(code, "");
+                        if (!lang.isEmpty()) {
+                            languages.add(lang);
+                        }
+                    }
+                }
+
+                String flagUrl = "";
+                JSONObject flags = country.optJSONObject("flags");
+                if (flags != null) {
+                    flagUrl = flags.optString("png", "");
+                }
+
+                result.add(new Country(cname, new ArrayList<>(alternateNames), capital,
+                        country.optString("region", ""), country.optString("subregion", ""),
+                        currencies, languages, flagUrl));
             }
-            logger.info("Country→Capital map built, size: " + countryCapitalMap.size());
+            result.sort(Comparator.comparing(Country::getName));
+            logger.info("Country dataset built, size: " + result.size());
         } catch (IOException e) {
-            logger.error("Error retrieving Country→Capital data: " + e.getMessage());
+            logger.error("Error retrieving country data: " + e.getMessage());
         }
 
-        return countryCapitalMap;
+        return result;
     }
 }
-    
\ No newline at end of file
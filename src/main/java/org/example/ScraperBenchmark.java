@@ -0,0 +1,203 @@
+package org.example;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.config.Configurator;
+
+/**
+ * ScraperBenchmark:
+ * - Load driver for Scraper against a FixtureServer.
+ * - "record <fixture dir>": runs one full refresh against the live sites through a recording
+ *   FixtureServer, capturing every response.
+ * - "run <fixture dir> [concurrency list] [latencyMs] [jitterMs] [errorRate] [rounds]": replays full
+ *   refreshes (country list + flag URL, languages, currency and summary for every country) at each
+ *   concurrency level and reports profiles/s, per-profile latency percentiles and allocated bytes.
+ * - The country list is fetched up to LIST_ATTEMPTS times (injected errors hit it too); a round that
+ *   still gets no countries is reported as failed rather than as a 0-profile measurement.
+ */
+public final class ScraperBenchmark {
+    private static final Logger logger = LogManager.getLogger(ScraperBenchmark.class);
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    static final int LIST_ATTEMPTS = 3;
+
+    private ScraperBenchmark() {
+    }
+
+    /**
+     * Result:
+     * - Measurements of one full refresh.
+     */
+    static final class Result {
+        int profiles;
+        int failedProfiles;
+        int listAttempts;
+        long wallNanos;
+        long allocatedBytes;
+        long[] latencyNanos;
+
+        double profilesPerSecond() {
+            return profiles * 1e9 / wallNanos;
+        }
+
+        double latencyMillis(double percentile) {
+            if (latencyNanos.length == 0) {
+                return 0;
+            }
+            int i = (int) Math.ceil(percentile / 100.0 * latencyNanos.length) - 1;
+            return latencyNanos[Math.max(0, Math.min(i, latencyNanos.length - 1))] / 1e6;
+        }
+    }
+
+    /**
+     * Fetches the country list, then every country's profile using the given number of threads.
+     *
+     * @throws IOException if the country list is still empty after LIST_ATTEMPTS tries
+     */
+    static Result refresh(Scraper scraper, int concurrency) throws Exception {
+        boolean measureAllocation = THREADS.isThreadAllocatedMemorySupported()
+                && THREADS.isThreadAllocatedMemoryEnabled();
+        AtomicLong allocated = new AtomicLong();
+        AtomicInteger failed = new AtomicInteger();
+
+        long start = System.nanoTime();
+        long before = measureAllocation ? THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+        // getCountries() reports failures as an empty list.
+        List<Country> countries = scraper.getCountries();
+        int listAttempts = 1;
+        while (countries.isEmpty() && listAttempts < LIST_ATTEMPTS) {
+            countries = scraper.getCountries();
+            listAttempts++;
+        }
+        if (countries.isEmpty()) {
+            throw new IOException("Country list unavailable after " + listAttempts + " attempts");
+        }
+        if (measureAllocation) {
+            allocated.addAndGet(THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) - before);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        long[] latencies = new long[countries.size()];
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < countries.size(); i++) {
+                final int index = i;
+                final String name = countries.get(i).getName();
+                futures.add(pool.submit(() -> {
+                    long threadId = Thread.currentThread().getId();
+                    long allocBefore = measureAllocation ? THREADS.getThreadAllocatedBytes(threadId) : 0;
+                    long t0 = System.nanoTime();
+
+                    String flagUrl = scraper.getCountryFlagUrl(name);
+                    String languages = scraper.getCountryLanguages(name);
+                    String currency = scraper.getCountryCurrency(name);
+                    String summary = scraper.getCountrySummary(name);
+
+                    latencies[index] = System.nanoTime() - t0;
+                    if (measureAllocation) {
+                        allocated.addAndGet(THREADS.getThreadAllocatedBytes(threadId) - allocBefore);
+                    }
+                    if (flagUrl.isEmpty() || languages.endsWith("Error") || currency.endsWith("Error")
+                            || summary.startsWith("Error loading")) {
+                        failed.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        Result result = new Result();
+        result.wallNanos = System.nanoTime() - start;
+        result.profiles = countries.size();
+        result.failedProfiles = failed.get();
+        result.listAttempts = listAttempts;
+        result.allocatedBytes = measureAllocation ? allocated.get() : -1;
+        Arrays.sort(latencies);
+        result.latencyNanos = latencies;
+        return result;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2 || !("record".equals(args[0]) || "run".equals(args[0]))) {
+            System.err.println("Usage: ScraperBenchmark record <fixture dir>");
+            System.err.println("       ScraperBenchmark run <fixture dir> [concurrency list, e.g. 1,4,16]"
+                    + " [latencyMs] [jitterMs] [errorRate] [rounds]");
+            System.exit(2);
+        }
+        FixtureStore store = new FixtureStore(Paths.get(args[1]));
+
+        if ("record".equals(args[0])) {
+            try (FixtureServer server = new FixtureServer(store, true)) {
+                server.start(0);
+                Result result = refresh(server.newScraper(), 4);
+                System.out.printf("Recorded %d responses for %d countries (%d failed profiles) in %.1f s%n",
+                        store.size(), result.profiles, result.failedProfiles, result.wallNanos / 1e9);
+            }
+            return;
+        }
+
+        String[] levels = (args.length > 2 ? args[2] : "1,2,4,8,16").split(",");
+        int latency = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+        int jitter = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+        double errorRate = args.length > 5 ? Double.parseDouble(args[5]) : 0;
+        int rounds = args.length > 6 ? Integer.parseInt(args[6]) : 3;
+
+        // Per-request logging would dominate the measurement.
+        Configurator.setRootLevel(Level.ERROR);
+
+        try (FixtureServer server = new FixtureServer(store, false)) {
+            server.setLatency(latency, jitter);
+            server.setErrorRate(errorRate);
+            server.start(0);
+            Scraper scraper = server.newScraper();
+
+            logger.info("Warm-up refresh");
+            refresh(scraper, Integer.parseInt(levels[levels.length - 1].trim()));
+
+            System.out.printf("Fixtures: %d, latency %d ms ± %d ms, error rate %.3f, %d round(s) per level%n",
+                    store.size(), latency, jitter, errorRate, rounds);
+            System.out.printf("%-8s %10s %9s %9s %9s %9s %8s %10s %12s%n",
+                    "threads", "profiles/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "failed", "list tries",
+                    "alloc MB");
+            for (String level : levels) {
+                int concurrency = Integer.parseInt(level.trim());
+                for (int round = 0; round < rounds; round++) {
+                    Result r;
+                    try {
+                        r = refresh(scraper, concurrency);
+                    } catch (IOException e) {
+                        System.out.printf("%-8d ROUND FAILED: %s%n", concurrency, e.getMessage());
+                        continue;
+                    }
+                    System.out.printf("%-8d %10.1f %9.1f %9.1f %9.1f %9.1f %8d %10d %12.1f%n",
+                            concurrency, r.profilesPerSecond(), r.latencyMillis(50), r.latencyMillis(90),
+                            r.latencyMillis(99), r.latencyMillis(100), r.failedProfiles, r.listAttempts,
+                            r.allocatedBytes / (1024.0 * 1024.0));
+                }
+            }
+            System.out.printf("Server: served %d, misses %d, injected errors %d%n",
+                    server.getServedCount(), server.getMissCount(), server.getInjectedErrorCount());
+        }
+    }
+}
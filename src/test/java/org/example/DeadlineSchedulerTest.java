@@ -0,0 +1,150 @@
+package org.example;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DeadlineSchedulerTest {
+    /** Runs callbacks on the worker thread; fine for the trivial callbacks used here. */
+    private static final Executor DIRECT = Runnable::run;
+
+    /** 10 ms ticks × 8 buckets: one wheel revolution is only 80 ms. */
+    private DeadlineScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        scheduler = new DeadlineScheduler(10, TimeUnit.MILLISECONDS, 8);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.close();
+    }
+
+    @Test
+    public void deadlineSeveralRevolutionsAwayFiresAfterItsDelay() throws InterruptedException {
+        final long start = System.nanoTime();
+        final long[] firedAfter = new long[1];
+        final CountDownLatch fired = new CountDownLatch(1);
+        scheduler.schedule(() -> {
+            firedAfter[0] = System.nanoTime() - start;
+            fired.countDown();
+        }, 250, TimeUnit.MILLISECONDS, DIRECT);
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        long millis = TimeUnit.NANOSECONDS.toMillis(firedAfter[0]);
+        assertTrue("fired after " + millis + " ms", millis >= 250);
+        assertTrue("fired after " + millis + " ms", millis < 250 + 150);
+    }
+
+    @Test
+    public void cancelBeforeTransferNeverFires() throws InterruptedException {
+        AtomicInteger fired = new AtomicInteger();
+        DeadlineScheduler.Timeout timeout = scheduler.schedule(fired::incrementAndGet, 30, TimeUnit.MILLISECONDS, DIRECT);
+
+        assertTrue(timeout.cancel());
+        assertTrue(timeout.isCancelled());
+        Thread.sleep(150);
+        assertEquals(0, fired.get());
+        assertFalse(timeout.isExpired());
+        assertFalse(timeout.cancel());
+    }
+
+    @Test
+    public void cancelAfterTransferNeverFiresAndLeavesItsNeighbours() throws InterruptedException {
+        AtomicInteger cancelledFired = new AtomicInteger();
+        CountDownLatch neighboursFired = new CountDownLatch(2);
+        // Same delay, so all three share a bucket; the cancelled one sits in the middle of the list.
+        scheduler.schedule(neighboursFired::countDown, 200, TimeUnit.MILLISECONDS, DIRECT);
+        DeadlineScheduler.Timeout timeout = scheduler.schedule(cancelledFired::incrementAndGet, 200,
+                TimeUnit.MILLISECONDS, DIRECT);
+        scheduler.schedule(neighboursFired::countDown, 200, TimeUnit.MILLISECONDS, DIRECT);
+
+        Thread.sleep(60);
+        assertTrue(timeout.cancel());
+        assertTrue(neighboursFired.await(2, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertEquals(0, cancelledFired.get());
+    }
+
+    @Test
+    public void cancelAfterExpiryHasNoEffect() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        DeadlineScheduler.Timeout timeout = scheduler.schedule(fired::countDown, 20, TimeUnit.MILLISECONDS, DIRECT);
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.cancel());
+        assertFalse(timeout.isCancelled());
+    }
+
+    @Test
+    public void failingCallbackDoesNotStopTheWorker() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        scheduler.schedule(() -> {
+            throw new AssertionError("expected in test");
+        }, 10, TimeUnit.MILLISECONDS, DIRECT);
+        scheduler.schedule(fired::countDown, 60, TimeUnit.MILLISECONDS, DIRECT);
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void countdownTicksDownThenExpires() throws InterruptedException {
+        final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+        final CountDownLatch expired = new CountDownLatch(1);
+        scheduler.startCountdown(3, DIRECT, new DeadlineScheduler.CountdownListener() {
+            @Override
+            public void onTick(int secondsRemaining) {
+                events.add("tick " + secondsRemaining);
+            }
+
+            @Override
+            public void onExpired() {
+                events.add("expired");
+                expired.countDown();
+            }
+        });
+
+        assertTrue(expired.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("tick 2", "tick 1", "tick 0", "expired"), events);
+    }
+
+    @Test
+    public void cancelledCountdownDeliversNothingMore() throws InterruptedException {
+        final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+        final CountDownLatch firstTick = new CountDownLatch(1);
+        DeadlineScheduler.Countdown countdown = scheduler.startCountdown(2, DIRECT,
+                new DeadlineScheduler.CountdownListener() {
+                    @Override
+                    public void onTick(int secondsRemaining) {
+                        events.add("tick " + secondsRemaining);
+                        firstTick.countDown();
+                    }
+
+                    @Override
+                    public void onExpired() {
+                        events.add("expired");
+                    }
+                });
+
+        assertTrue(firstTick.await(3, TimeUnit.SECONDS));
+        countdown.cancel();
+        assertTrue(countdown.isCancelled());
+        Thread.sleep(1500);
+        assertEquals(Collections.singletonList("tick 1"), events);
+    }
+}
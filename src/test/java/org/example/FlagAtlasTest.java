@@ -0,0 +1,203 @@
+package org.example;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class FlagAtlasTest {
+    /** More than one page (256 cells), so cells on a second, shorter page are covered too. */
+    private static final int FLAGS = 260;
+    private static final long NOW = 1_700_000_000_000L;
+
+    private Path sources;
+    private Path cache;
+
+    @Before
+    public void setUp() throws IOException {
+        sources = Files.createTempDirectory("flag-sources");
+        cache = Files.createTempDirectory("flag-atlas");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        delete(sources);
+        delete(cache);
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private static Color color(int i) {
+        return new Color((i * 37) % 256, (i * 91) % 256, (i * 53) % 256);
+    }
+
+    /**
+     * Writes a solid-colour, cell-sized PNG for flag i and returns its file:// URL.
+     */
+    private String writeFlag(int i, Color color) throws IOException {
+        BufferedImage image = new BufferedImage(FlagAtlas.CELL_WIDTH, FlagAtlas.CELL_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(color);
+        g.fillRect(0, 0, image.getWidth(), image.getHeight());
+        g.dispose();
+        Path file = sources.resolve("flag-" + i + ".png");
+        ImageIO.write(image, "png", file.toFile());
+        return file.toUri().toString();
+    }
+
+    private static Country country(int i, String flagUrl) {
+        return new Country("Country" + i, Collections.<String>emptyList(), "Capital" + i, "Europe", "Western Europe",
+                Collections.<String>emptyList(), Collections.<String>emptyList(), flagUrl);
+    }
+
+    /**
+     * All flags written to disk, except the ones listed as missing (their URL points nowhere).
+     */
+    private List<Country> countries(int... missing) throws IOException {
+        List<Country> countries = new ArrayList<>();
+        for (int i = 0; i < FLAGS; i++) {
+            boolean absent = false;
+            for (int m : missing) {
+                absent |= m == i;
+            }
+            countries.add(country(i, absent ? sources.resolve("flag-" + i + ".png").toUri().toString()
+                    : writeFlag(i, color(i))));
+        }
+        return countries;
+    }
+
+    private void deleteSources() throws IOException {
+        try (Stream<Path> paths = Files.list(sources)) {
+            paths.forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private static Color centerColor(FlagAtlas atlas, String name) {
+        Icon icon = atlas.getIcon(name, FlagAtlas.CELL_HEIGHT);
+        BufferedImage image = new BufferedImage(icon.getIconWidth(), icon.getIconHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        icon.paintIcon(null, g, 0, 0);
+        g.dispose();
+        return new Color(image.getRGB(image.getWidth() / 2, image.getHeight() / 2));
+    }
+
+    private void assertAllFlags(FlagAtlas atlas, int... missing) {
+        assertEquals(FLAGS - missing.length, atlas.size());
+        for (int i = 0; i < FLAGS; i++) {
+            boolean absent = false;
+            for (int m : missing) {
+                absent |= m == i;
+            }
+            if (absent) {
+                assertFalse(atlas.contains("Country" + i));
+                assertNull(atlas.getIcon("Country" + i, 20));
+                continue;
+            }
+            Icon icon = atlas.getIcon("Country" + i, FlagAtlas.CELL_HEIGHT);
+            assertEquals(FlagAtlas.CELL_WIDTH, icon.getIconWidth());
+            assertEquals(color(i), centerColor(atlas, "Country" + i));
+        }
+    }
+
+    @Test
+    public void packedAtlasSurvivesSaveAndLoad() throws IOException {
+        List<Country> countries = countries();
+        assertAllFlags(FlagAtlas.loadOrBuild(countries, cache, NOW));
+        assertTrue(Files.isRegularFile(cache.resolve("page-0.png")));
+        assertTrue(Files.isRegularFile(cache.resolve("page-1.png")));
+
+        // Without the sources, only the cache can provide the flags.
+        deleteSources();
+        FlagAtlas loaded = FlagAtlas.loadOrBuild(countries, cache, NOW);
+        assertAllFlags(loaded);
+        assertEquals(FlagAtlas.CELL_WIDTH / 2, loaded.getIcon("Country0", FlagAtlas.CELL_HEIGHT / 2).getIconWidth());
+    }
+
+    @Test
+    public void missingFlagIsRetriedOnlyAfterTheDelayAndWithoutARebuild() throws IOException {
+        List<Country> countries = countries(7);
+        assertAllFlags(FlagAtlas.loadOrBuild(countries, cache, NOW), 7);
+
+        // A full rebuild would now lose every flag; the next start must come from the cache.
+        deleteSources();
+        assertAllFlags(FlagAtlas.loadOrBuild(countries, cache, NOW + TimeUnit.HOURS.toMillis(1)), 7);
+
+        // Once the retry delay has passed only the missing flag is downloaded and repacked.
+        writeFlag(7, color(7));
+        assertAllFlags(FlagAtlas.loadOrBuild(countries, cache, NOW + TimeUnit.HOURS.toMillis(30)));
+        assertAllFlags(FlagAtlas.loadOrBuild(countries, cache, NOW + TimeUnit.HOURS.toMillis(31)));
+    }
+
+    @Test
+    public void changedUrlIsDownloadedAgain() throws IOException {
+        List<Country> countries = countries();
+        FlagAtlas.loadOrBuild(countries, cache, NOW);
+        deleteSources();
+
+        Color newColor = new Color(10, 200, 30);
+        String newUrl = writeFlag(1000, newColor);
+        countries.set(3, country(3, newUrl));
+        FlagAtlas atlas = FlagAtlas.loadOrBuild(countries, cache, NOW);
+        assertEquals(FLAGS, atlas.size());
+        assertEquals(newColor, centerColor(atlas, "Country3"));
+        assertEquals(color(4), centerColor(atlas, "Country4"));
+    }
+
+    @Test
+    public void corruptIndexTriggersARebuild() throws IOException {
+        List<Country> countries = countries();
+        String[][] corruptions = {
+                {"pages", "x"},
+                {"Country1", "0,0"},
+                {"Country1", "0,5000,0,120,80"},
+                {"Country1", "9,0,0,120,80"},
+        };
+        for (String[] corruption : corruptions) {
+            FlagAtlas.loadOrBuild(countries, cache, NOW);
+            Path index = cache.resolve("index.properties");
+            String text = new String(Files.readAllBytes(index), StandardCharsets.ISO_8859_1);
+            text = text.replaceAll("(?m)^" + corruption[0] + "=.*$", corruption[0] + "=" + corruption[1]);
+            Files.write(index, text.getBytes(StandardCharsets.ISO_8859_1));
+
+            assertAllFlags(FlagAtlas.loadOrBuild(countries, cache, NOW));
+        }
+    }
+
+    @Test
+    public void atlasWithoutFlagsIsUnavailable() throws IOException {
+        List<Country> countries = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            countries.add(country(i, sources.resolve("none-" + i + ".png").toUri().toString()));
+        }
+        try {
+            FlagAtlas.loadOrBuild(countries, cache, NOW);
+            fail("expected IOException");
+        } catch (IOException expected) {
+            // QuizGame hides the flag modes.
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package org.example;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NameIndexTest {
+    private static final List<String> NAMES = readNames();
+
+    /** The 250 restcountries.com common names, one per line. */
+    private static List<String> readNames() {
+        List<String> names = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                NameIndexTest.class.getResourceAsStream("/country-names.txt"), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    names.add(line);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return names;
+    }
+
+    private static NameIndex index() {
+        List<List<String>> alternates = new ArrayList<>();
+        for (String name : NAMES) {
+            if (name.equals("United States")) {
+                alternates.add(Arrays.asList("US", "USA", "United States of America"));
+            } else if (name.equals("Ivory Coast")) {
+                alternates.add(Arrays.asList("CI", "Côte d'Ivoire", "Republic of Côte d'Ivoire"));
+            } else {
+                alternates.add(Collections.<String>emptyList());
+            }
+        }
+        return NameIndex.build(NAMES, alternates);
+    }
+
+    private static int id(String name) {
+        int id = NAMES.indexOf(name);
+        assertTrue(name, id >= 0);
+        return id;
+    }
+
+    private static int[] suggest(NameIndex.Matcher matcher, String input, int max) {
+        int[] out = new int[max];
+        return Arrays.copyOf(out, matcher.suggest(input, out));
+    }
+
+    @Test
+    public void prefixSuggestionsAreAlphabeticalWithinADistance() {
+        NameIndex.Matcher matcher = index().newMatcher();
+
+        assertArrayEquals(new int[]{id("United Arab Emirates"), id("United Kingdom"), id("United States"),
+                        id("United States Minor Outlying Islands"), id("United States Virgin Islands")},
+                suggest(matcher, "united", 5));
+        assertArrayEquals(new int[]{id("Niger"), id("Nigeria")}, suggest(matcher, "Nige", 2));
+        // Alternate spellings lead to the canonical id, which is listed only once.
+        assertArrayEquals(new int[]{id("United States")}, suggest(matcher, "usa", 1));
+        assertEquals("United States", index().getDisplayName(suggest(matcher, "united states of", 1)[0]));
+    }
+
+    @Test
+    public void gradingRejectsACloserOtherName() {
+        NameIndex.Matcher matcher = index().newMatcher();
+
+        assertEquals(0, matcher.grade("Niger", id("Niger")));
+        assertEquals(-1, matcher.grade("Niger", id("Nigeria")));
+        assertEquals(0, matcher.grade("nigeria", id("Nigeria")));
+        assertEquals(1, matcher.grade("Nigria", id("Nigeria")));
+        assertEquals(-1, matcher.grade("Nigria", id("Niger")));
+        assertEquals(id("Nigeria"), matcher.lookup("Nigria"));
+        // Short answers must be exact.
+        assertEquals(-1, matcher.grade("usx", id("United States")));
+        assertEquals(0, matcher.grade("USA", id("United States")));
+    }
+
+    @Test
+    public void accentsAndPunctuationAreFolded() {
+        NameIndex.Matcher matcher = index().newMatcher();
+
+        assertEquals("cote d ivoire", NameIndex.normalize("Côte d'Ivoire"));
+        assertEquals("cote d ivoire", NameIndex.normalize("  COTE-D’IVOIRE! "));
+        assertEquals(0, matcher.grade("cote d ivoire", id("Ivory Coast")));
+        assertEquals(0, matcher.grade("Côte d'Ivoire", id("Ivory Coast")));
+        assertArrayEquals(new int[]{id("Ivory Coast")}, suggest(matcher, "côte", 1));
+        assertEquals(0, matcher.grade("curacao", id("Curaçao")));
+        assertEquals(0, matcher.grade("Sao Tome and Principe", id("São Tomé and Príncipe")));
+        assertArrayEquals(new int[]{id("São Tomé and Príncipe")}, suggest(matcher, "sao to", 1));
+        assertEquals(0, matcher.grade("aland islands", id("Åland Islands")));
+    }
+
+    @Test
+    public void adjacentTranspositionIsOneEdit() {
+        NameIndex.Matcher matcher = index().newMatcher();
+
+        assertEquals(1, matcher.grade("frnace", id("France")));
+        assertEquals(1, matcher.grade("Fracne", id("France")));
+        assertEquals(id("France"), matcher.lookup("frnace"));
+        assertEquals(1, matcher.grade("gremany", id("Germany")));
+    }
+
+    @Test
+    public void gradeAnyAcceptsEveryRightId() {
+        NameIndex capitals = NameIndex.build(Arrays.asList("Kingston", "Kingston", "Paris"),
+                Collections.<List<String>>emptyList());
+        NameIndex.Matcher matcher = capitals.newMatcher();
+
+        assertEquals(0, matcher.gradeAny("kingston", id -> id == 0));
+        assertEquals(1, matcher.gradeAny("kingston", id -> id == 1));
+        assertEquals(1, matcher.gradeAny("Kingstn", id -> id == 1));
+        assertEquals(-1, matcher.gradeAny("paris", id -> id != 2));
+    }
+
+    /**
+     * Replays typing every name one character at a time. The measured cost is about 10 µs per
+     * suggestion on a single slow core; the bound is five times that so it holds on loaded build
+     * machines and still fails if the trie walk stops pruning. Allocation is checked wherever the
+     * JVM reports it.
+     */
+    @Test
+    public void suggestionsAreFastAndAllocationFree() {
+        NameIndex.Matcher matcher = index().newMatcher();
+        List<String> prefixes = new ArrayList<>();
+        for (String name : NAMES) {
+            for (int i = 1; i <= name.length(); i++) {
+                prefixes.add(name.substring(0, i));
+            }
+        }
+        // An array, so the timed loops allocate no iterators.
+        String[] queries = prefixes.toArray(new String[0]);
+        int[] out = new int[6];
+        for (int round = 0; round < 30; round++) {
+            for (String query : queries) {
+                matcher.suggest(query, out);
+            }
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        boolean measureAllocation = threads.isThreadAllocatedMemorySupported()
+                && threads.isThreadAllocatedMemoryEnabled();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = measureAllocation ? threads.getThreadAllocatedBytes(threadId) : 0;
+        long fastestRound = Long.MAX_VALUE;
+        for (int round = 0; round < 10; round++) {
+            long start = System.nanoTime();
+            for (String query : queries) {
+                matcher.suggest(query, out);
+            }
+            fastestRound = Math.min(fastestRound, System.nanoTime() - start);
+        }
+        long allocated = measureAllocation ? threads.getThreadAllocatedBytes(threadId) - allocatedBefore : 0;
+        long nanosPerCall = fastestRound / queries.length;
+
+        assertTrue(nanosPerCall + " ns per suggestion", nanosPerCall < 50_000);
+        assertTrue(allocated + " bytes allocated by " + 10 * queries.length + " suggestions", allocated < 1024);
+    }
+}
@@ -0,0 +1,120 @@
+package org.example;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class QuestionBankTest {
+
+    /**
+     * 120 synthetic countries in 4 regions × 3 subregions; every country also speaks "English",
+     * which therefore can never be asked about (no valid distractors).
+     */
+    private static List<Country> countries() {
+        String[] regions = {"Europe", "Asia", "Africa", "Americas"};
+        List<Country> result = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            String region = regions[i % regions.length];
+            result.add(new Country("Country" + i, new ArrayList<String>(),
+                    i % 10 == 0 ? "" : "Capital" + i, region, region + " " + (i % 3),
+                    Arrays.asList("Currency" + (i % 20)),
+                    Arrays.asList("Language" + (i % 30), "English"),
+                    "https://flags.example/" + i + ".png"));
+        }
+        return result;
+    }
+
+    private static List<String> describe(QuestionBank bank) {
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < bank.size(); i++) {
+            QuestionBank.Question q = bank.get(i);
+            result.add(q.getMode() + "|" + q.getPrompt() + "|" + q.getOptions());
+        }
+        return result;
+    }
+
+    @Test
+    public void generationIsDeterministicAcrossPoolSizes() {
+        List<Country> countries = countries();
+        QuestionBank single = QuestionBank.generate(countries, 42, new ForkJoinPool(1));
+        QuestionBank parallel = QuestionBank.generate(countries, 42, new ForkJoinPool(8));
+
+        assertTrue(single.size() > 0);
+        assertEquals(describe(single), describe(parallel));
+    }
+
+    @Test
+    public void modesAreContiguousAndMatchTheirQuestions() {
+        QuestionBank bank = QuestionBank.generate(countries(), 7);
+        int total = 0;
+        for (QuestionMode mode : QuestionMode.values()) {
+            int first = bank.firstIndex(mode);
+            for (int i = first; i < first + bank.size(mode); i++) {
+                assertEquals(mode, bank.get(i).getMode());
+            }
+            total += bank.size(mode);
+        }
+        assertEquals(bank.size(), total);
+        // Every country with a capital is asked about, those without never are.
+        Set<String> asked = new HashSet<>();
+        int first = bank.firstIndex(QuestionMode.CAPITAL_TO_COUNTRY);
+        for (int i = first; i < first + bank.size(QuestionMode.CAPITAL_TO_COUNTRY); i++) {
+            asked.add(bank.get(i).getCorrect().getName());
+        }
+        assertEquals(108, asked.size());
+        assertFalse(asked.contains("Country0"));
+    }
+
+    @Test
+    public void distractorsNeverShareThePromptOrALabel() {
+        QuestionBank bank = QuestionBank.generate(countries(), 3);
+        for (int i = 0; i < bank.size(); i++) {
+            QuestionBank.Question q = bank.get(i);
+            QuestionMode mode = q.getMode();
+            List<Country> options = q.getOptions();
+            assertEquals(QuestionBank.OPTIONS, options.size());
+            assertTrue(mode.prompts(q.getCorrect()).contains(q.getPrompt()));
+
+            Set<String> labels = new HashSet<>();
+            for (Country option : options) {
+                String label = mode.answer(option);
+                assertFalse("empty label in question " + i, label.isEmpty());
+                assertTrue("duplicate label in question " + i, labels.add(label));
+            }
+            for (Country distractor : options.subList(1, options.size())) {
+                assertFalse("second valid answer in question " + i,
+                        mode.prompts(distractor).contains(q.getPrompt()));
+            }
+        }
+    }
+
+    @Test
+    public void promptsSharedByEveryCountryAreSkipped() {
+        QuestionBank bank = QuestionBank.generate(countries(), 1);
+        int first = bank.firstIndex(QuestionMode.LANGUAGE_TO_COUNTRY);
+        for (int i = first; i < first + bank.size(QuestionMode.LANGUAGE_TO_COUNTRY); i++) {
+            assertFalse("English".equals(bank.get(i).getPrompt()));
+        }
+    }
+
+    @Test
+    public void distractorsPreferTheSameSubregion() {
+        QuestionBank bank = QuestionBank.generate(countries(), 5);
+        int first = bank.firstIndex(QuestionMode.CAPITAL_TO_COUNTRY);
+        for (int i = first; i < first + bank.size(QuestionMode.CAPITAL_TO_COUNTRY); i++) {
+            QuestionBank.Question q = bank.get(i);
+            for (Country option : q.getOptions()) {
+                assertEquals(q.getCorrect().getSubregion(), option.getSubregion());
+            }
+        }
+    }
+}
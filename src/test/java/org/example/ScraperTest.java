@@ -0,0 +1,160 @@
+package org.example;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Replays the checked-in fixtures (src/test/resources/fixtures) through a FixtureServer.
+ */
+public class ScraperTest {
+    private static final String COUNTRIES_KEY = FixtureServer.REST_COUNTRIES_PREFIX
+            + "/v3.1/all?fields=name,altSpellings,capital,region,subregion,currencies,languages,flags";
+
+    private Path dir;
+    private FixtureServer server;
+    private Scraper scraper;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("fixtures");
+        FixtureStore store = new FixtureStore(dir);
+        store.put(COUNTRIES_KEY, fixture("restcountries-all.json", "application/json"));
+        store.put(FixtureServer.WIKIPEDIA_PREFIX + "/wiki/France",
+                fixture("wikipedia-France.html", "text/html; charset=UTF-8"));
+        store.put(FixtureServer.WIKIPEDIA_PREFIX + "/wiki/Switzerland",
+                fixture("wikipedia-Switzerland.html", "text/html; charset=UTF-8"));
+
+        server = new FixtureServer(store, false);
+        server.start(0);
+        scraper = server.newScraper();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.close();
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private static FixtureStore.Response fixture(String name, String contentType) throws IOException {
+        try (InputStream in = ScraperTest.class.getResourceAsStream("/fixtures/" + name)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[8192];
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                out.write(buf, 0, n);
+            }
+            return new FixtureStore.Response(200, contentType, out.toByteArray());
+        }
+    }
+
+    @Test
+    public void countriesAreParsedFromTheRecordedList() {
+        List<Country> countries = scraper.getCountries();
+
+        assertEquals(3, countries.size());
+        Country france = countries.get(0);
+        assertEquals("France", france.getName());
+        assertEquals(Arrays.asList("French Republic", "FR", "République française"), france.getAlternateNames());
+        assertEquals("Paris", france.getCapital());
+        assertEquals("Europe", france.getRegion());
+        assertEquals("Western Europe", france.getSubregion());
+        assertEquals(Arrays.asList("Euro"), france.getCurrencies());
+        assertEquals(Arrays.asList("French"), france.getLanguages());
+        assertEquals("https://flagcdn.com/w320/fr.png", france.getFlagUrl());
+
+        // Sorted by name; several capitals mean none is asked about.
+        Country southAfrica = countries.get(1);
+        assertEquals("South Africa", southAfrica.getName());
+        assertEquals("", southAfrica.getCapital());
+        assertEquals(Arrays.asList("Afrikaans", "English", "Zulu"), southAfrica.getLanguages());
+        assertFalse(southAfrica.getAlternateNames().contains("South Africa"));
+
+        Country switzerland = countries.get(2);
+        assertEquals("Switzerland", switzerland.getName());
+        assertEquals(Arrays.asList("French", "Swiss German", "Italian", "Romansh"), switzerland.getLanguages());
+        assertEquals(Arrays.asList("Swiss franc"), switzerland.getCurrencies());
+
+        assertEquals("Bern", scraper.getCountryCapitalMap().get("Switzerland"));
+        assertEquals(0, server.getMissCount());
+    }
+
+    @Test
+    public void infoboxFieldsAreScraped() {
+        assertEquals("Languages: French", scraper.getCountryLanguages("France"));
+        assertEquals("Currency: Euro (€) (EUR)", scraper.getCountryCurrency("France"));
+        assertEquals("Languages: German French Italian Romansh", scraper.getCountryLanguages("Switzerland"));
+        assertEquals("Currency: Swiss franc (CHF)", scraper.getCountryCurrency("Switzerland"));
+        assertEquals("https://upload.wikimedia.org/wikipedia/en/thumb/c/c3/Flag_of_France.svg/125px-Flag_of_France.svg.png",
+                scraper.getCountryFlagUrl("France"));
+        assertTrue(scraper.getCountrySummary("France").startsWith("France, officially the French Republic"));
+    }
+
+    @Test
+    public void keysWithoutFixtureAre404() throws IOException {
+        HttpURLConnection conn = (HttpURLConnection) new URL(server.getWikipediaUrl() + "/wiki/Atlantis").openConnection();
+        try {
+            assertEquals(404, conn.getResponseCode());
+        } finally {
+            conn.disconnect();
+        }
+        assertEquals(1, server.getMissCount());
+
+        assertEquals("Languages: Error", scraper.getCountryLanguages("Atlantis"));
+        assertEquals(2, server.getMissCount());
+    }
+
+    @Test
+    public void injectedErrorsSurfaceAsErrorResults() {
+        server.setErrorRate(1.0);
+
+        assertTrue(scraper.getCountries().isEmpty());
+        assertEquals("Languages: Error", scraper.getCountryLanguages("France"));
+        assertEquals("Currency: Error", scraper.getCountryCurrency("France"));
+        assertEquals("", scraper.getCountryFlagUrl("France"));
+        assertTrue(scraper.getCountrySummary("France").startsWith("Error loading Wikipedia info"));
+        assertEquals(5, server.getInjectedErrorCount());
+        assertEquals(0, server.getServedCount());
+    }
+
+    @Test
+    public void benchmarkRefreshProfilesEveryListedCountry() throws Exception {
+        ScraperBenchmark.Result result = ScraperBenchmark.refresh(scraper, 2);
+
+        assertEquals(3, result.profiles);
+        // South Africa has no recorded page.
+        assertEquals(1, result.failedProfiles);
+        assertEquals(1, result.listAttempts);
+        assertEquals(3, result.latencyNanos.length);
+    }
+
+    @Test
+    public void benchmarkRefreshFailsInsteadOfMeasuringAnEmptyList() throws Exception {
+        server.setErrorRate(1.0);
+        try {
+            ScraperBenchmark.refresh(scraper, 2);
+            fail("expected IOException");
+        } catch (IOException expected) {
+            assertEquals(ScraperBenchmark.LIST_ATTEMPTS, server.getInjectedErrorCount());
+        }
+    }
+}